@@ -0,0 +1,463 @@
+package com.mk.sll;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Thread safe sorted list for data that is read much more often than modified. Elements are kept in an immutable
+ * sorted array. Every modification creates a new array under a lock and publishes it by one volatile write, so
+ * readers never wait: {@link #get(int)} is a plain array access, {@link #contains(Object)} and {@link #indexOf(Object)}
+ * use binary search and iterators work over the array they started with and never throw
+ * {@link ConcurrentModificationException}.
+ * <p>
+ * Elements are located by the comparator first and then compared by equals, so elements that are equal must be the
+ * same according to the comparator.
+ *
+ * @param <E> type of elements
+ * @see java.util.concurrent.CopyOnWriteArrayList
+ */
+@SuppressWarnings("NullableProblems")
+public class CopyOnWriteSortedList<E> implements List<E> {
+
+    private final Comparator<E> comparator;
+
+    /**
+     * Serializes modifications. Readers don't use it.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Sorted elements. The array is never modified after it is published.
+     */
+    private volatile Object[] array;
+
+    public CopyOnWriteSortedList(Comparator<E> comparator) {
+        this.comparator = comparator;
+        array = new Object[0];
+    }
+
+    public CopyOnWriteSortedList(Comparator<E> comparator, Collection<? extends E> collection) {
+        this.comparator = comparator;
+        Object[] elements = collection.toArray();
+        sortArray(elements);
+        array = elements;
+    }
+
+    /**
+     * Puts a new element into a copy of the array and publishes the copy.
+     *
+     * @param newElement may be null if comparator allows nulls. Otherwise, throws the same exception as comparator called
+     *                   by List#sort would.
+     * @return true if this list changed as a result of the call.
+     * @see SortedLinkedList#put(Object)
+     */
+    public boolean put(E newElement) {
+        validateNullability(newElement);
+        lock.lock();
+        try {
+            Object[] elements = array;
+            int index = firstIndexSameOrAfter(elements, newElement);
+            Object[] newElements = new Object[elements.length + 1];
+            System.arraycopy(elements, 0, newElements, 0, index);
+            newElements[index] = newElement;
+            System.arraycopy(elements, index, newElements, index + 1, elements.length - index);
+            array = newElements;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Puts a content of the newElements collection into the list. The new elements are sorted and merged with the
+     * current array into one new array, so the whole batch is published at once.
+     *
+     * @param newElements may be null. May contain null if comparator allows nulls.
+     * @return true if this list changed as a result of the call.
+     * @see SortedLinkedList#putAll(Collection)
+     */
+    public boolean putAll(Collection<? extends E> newElements) {
+        if (newElements == null || newElements.isEmpty()) {
+            return false;
+        }
+
+        //defensive copy, because we'll depend on sorting
+        Object[] added = newElements.toArray();
+        //validates nullability
+        sortArray(added);
+
+        lock.lock();
+        try {
+            Object[] elements = array;
+            Object[] merged = new Object[elements.length + added.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < elements.length && j < added.length) {
+                // new elements go before the same elements, like in SortedLinkedList#put
+                if (comparator.compare(element(elements, i), element(added, j)) < 0) {
+                    merged[k++] = elements[i++];
+                } else {
+                    merged[k++] = added[j++];
+                }
+            }
+            System.arraycopy(elements, i, merged, k, elements.length - i);
+            System.arraycopy(added, j, merged, k + elements.length - i, added.length - j);
+            array = merged;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Null is allowed if comparator can compare it, the same as in {@link SortedLinkedList}.
+     *
+     * @param newElement - nullable
+     */
+    private void validateNullability(E newElement) {
+        if (newElement == null) {
+            //noinspection EqualsWithItself,ResultOfMethodCallIgnored,ConstantValue
+            comparator.compare(newElement, newElement);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sortArray(Object[] elements) {
+        Arrays.sort(elements, (Comparator<Object>) comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E element(Object[] elements, int index) {
+        return (E) elements[index];
+    }
+
+    /**
+     * Binary search for the position of element.
+     *
+     * @return index of the first element that is the same or after element, or length of the array.
+     */
+    private int firstIndexSameOrAfter(Object[] elements, E element) {
+        int low = 0;
+        int high = elements.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(element(elements, middle), element) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the element by binary search and then checks equality of the elements that are the same according to
+     * comparator.
+     *
+     * @return index in elements or -1.
+     */
+    @SuppressWarnings("unchecked")
+    private int indexOf(Object[] elements, Object o, boolean last) {
+        int start;
+        try {
+            start = firstIndexSameOrAfter(elements, (E) o);
+        } catch (ClassCastException | NullPointerException e) {
+            // the element can't be in the list if comparator can't compare it
+            return -1;
+        }
+        int result = -1;
+        for (int i = start; i < elements.length && comparator.compare(element(elements, i), (E) o) == 0; i++) {
+            if (Objects.equals(o, elements[i])) {
+                result = i;
+                if (!last) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Publishes a copy without elements matching the filter. Publishes nothing if no element matches.
+     */
+    private boolean removeMatching(Predicate<? super E> filter) {
+        lock.lock();
+        try {
+            Object[] elements = array;
+            Object[] kept = new Object[elements.length];
+            int size = 0;
+            for (int i = 0; i < elements.length; i++) {
+                if (!filter.test(element(elements, i))) {
+                    kept[size++] = elements[i];
+                }
+            }
+            if (size == elements.length) {
+                return false;
+            }
+            array = Arrays.copyOf(kept, size);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return unmodifiable list over the current array.
+     */
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot() {
+        return Collections.unmodifiableList(Arrays.asList((E[]) array));
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        lock.lock();
+        try {
+            Object[] elements = array;
+            int index = indexOf(elements, o, false);
+            if (index < 0) {
+                return false;
+            }
+            array = copyWithout(elements, index);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        lock.lock();
+        try {
+            Object[] elements = array;
+            Objects.checkIndex(index, elements.length);
+            E removed = element(elements, index);
+            array = copyWithout(elements, index);
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Object[] copyWithout(Object[] elements, int index) {
+        Object[] newElements = new Object[elements.length - 1];
+        System.arraycopy(elements, 0, newElements, 0, index);
+        System.arraycopy(elements, index + 1, newElements, index, elements.length - index - 1);
+        return newElements;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return removeMatching(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return removeMatching(element -> !c.contains(element));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return removeMatching(filter);
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            array = new Object[0];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        lock.lock();
+        try {
+            Object[] elements = array.clone();
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = operator.apply(element(elements, i));
+            }
+            sortArray(elements);
+            array = elements;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    @Override
+    public E get(int index) {
+        Object[] elements = array;
+        Objects.checkIndex(index, elements.length);
+        return element(elements, index);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(array, o, false) >= 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        Object[] elements = array;
+        for (Object o : c) {
+            if (indexOf(elements, o, false) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return indexOf(array, o, false);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(array, o, true);
+    }
+
+
+    //Methods delegated to a snapshot of the array.
+
+    /**
+     * Returns an iterator over the array at the time of the call. The iterator doesn't support remove.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    /**
+     * Returns a list iterator over the array at the time of the call. The iterator doesn't support modifications.
+     */
+    @Override
+    public ListIterator<E> listIterator() {
+        return snapshot().listIterator();
+    }
+
+    /**
+     * Returns a list iterator over the array at the time of the call. The iterator doesn't support modifications.
+     */
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return snapshot().listIterator(index);
+    }
+
+    /**
+     * Returns an unmodifiable view of a part of the array at the time of the call.
+     */
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        return snapshot().subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return array.clone();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return snapshot().toArray(a);
+    }
+
+    @Override
+    public <T> T[] toArray(IntFunction<T[]> generator) {
+        return snapshot().toArray(generator);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return snapshot().spliterator();
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return snapshot().stream();
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        return snapshot().parallelStream();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        snapshot().forEach(action);
+    }
+
+
+    //Unsupported methods - see README.md
+
+    /**
+     * Sorting by different comparator is not supported.
+     */
+    @Override
+    public void sort(Comparator<? super E> c) {
+        throw new UnsupportedOperationException("Sorting by different comparator is not supported.");
+    }
+
+    /**
+     * Unsupported operation, because it would break List contract that says that added element must be added to the
+     * end of the list. Position in {@link CopyOnWriteSortedList} is defined by comparator.
+     */
+    @Override
+    public boolean add(E e) {
+        throw new UnsupportedOperationException("Use put instead.");
+    }
+
+    /**
+     * Unsupported operation, because it would break List contract that says that added element must be added to the
+     * end of the list. Position in {@link CopyOnWriteSortedList} is defined by comparator.
+     */
+    @Override
+    public void add(int index, E element) {
+        throw new UnsupportedOperationException("Use put instead.");
+    }
+
+    /**
+     * Unsupported operation, because it would break List contract that says that added element must be added to the
+     * end of the list. Position in {@link CopyOnWriteSortedList} is defined by comparator.
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        throw new UnsupportedOperationException("Use putAll instead.");
+    }
+
+    /**
+     * Unsupported operation, because it would break List contract that says that added element must be added to the
+     * end of the list. Position in {@link CopyOnWriteSortedList} is defined by comparator.
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        throw new UnsupportedOperationException("Use putAll instead.");
+    }
+
+    /**
+     * Unsupported operation. Set is supposed to change element on a particular position but change of the position
+     * is not expected. Position in {@link CopyOnWriteSortedList} is defined by comparator.
+     */
+    @Override
+    public E set(int index, E element) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,21 @@
+package com.mk.sll;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes elements to files and reads them back. Used by {@link SpillingSortedList} to store sorted runs outside of
+ * the heap.
+ *
+ * @param <E> type of elements
+ */
+public interface ElementCodec<E> {
+
+    void write(DataOutput out, E element) throws IOException;
+
+    /**
+     * Reads an element written by {@link #write(DataOutput, Object)}.
+     */
+    E read(DataInput in) throws IOException;
+}
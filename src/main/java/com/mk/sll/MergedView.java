@@ -0,0 +1,126 @@
+package com.mk.sll;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy sorted view over several {@link SortedLinkedList}s sorted by the same comparator. Nothing is copied or sorted,
+ * the lists are merged by a {@link MergingIterator} while the view is iterated. See
+ * {@link SortedLinkedList#mergedView(Comparator, Collection)}.
+ *
+ * @param <E> type of elements
+ */
+public class MergedView<E> implements Iterable<E> {
+
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.SIZED;
+
+    private final Comparator<E> comparator;
+
+    private final List<SortedLinkedList<E>> lists;
+
+    MergedView(Comparator<E> comparator, Collection<? extends SortedLinkedList<E>> lists) {
+        this.comparator = comparator;
+        this.lists = new ArrayList<>(lists);
+    }
+
+    /**
+     * Returns a new iterator merging current content of the lists. Equal elements are returned in the order of the
+     * lists in the collection passed to {@link SortedLinkedList#mergedView(Comparator, Collection)}.
+     */
+    @Override
+    public MergingIterator<E> iterator() {
+        List<Iterator<E>> iterators = new ArrayList<>(lists.size());
+        for (SortedLinkedList<E> list : lists) {
+            iterators.add(list.iterator());
+        }
+        return new MergingIterator<>(comparator, iterators);
+    }
+
+    /**
+     * Returns a sequential sorted stream of all elements of the lists. The stream is lazy, so short-circuiting
+     * operations like {@link Stream#limit(long)} touch only the elements they need. The lists are read when the
+     * terminal operation starts, not when this method is called.
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(this::spliterator, CHARACTERISTICS, false);
+    }
+
+    /**
+     * Returns a sorted spliterator over current content of the lists. The spliterator doesn't split, the merge is
+     * sequential.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new MergingSpliterator<>(comparator, iterator(), size());
+    }
+
+    /**
+     * @return sum of sizes of the lists.
+     */
+    public long size() {
+        long size = 0;
+        for (SortedLinkedList<E> list : lists) {
+            size += list.size();
+        }
+        return size;
+    }
+
+    /**
+     * Spliterator over a {@link MergingIterator}. Reports the comparator, so sorting the stream by the same comparator
+     * is a no-op.
+     */
+    private static final class MergingSpliterator<E> implements Spliterator<E> {
+
+        private final Comparator<E> comparator;
+
+        private final MergingIterator<E> iterator;
+
+        private long remaining;
+
+        private MergingSpliterator(Comparator<E> comparator, MergingIterator<E> iterator, long size) {
+            this.comparator = comparator;
+            this.iterator = iterator;
+            this.remaining = size;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            remaining--;
+            action.accept(iterator.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            while (iterator.hasNext()) {
+                remaining--;
+                action.accept(iterator.next());
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+
+        @Override
+        public Comparator<? super E> getComparator() {
+            return comparator;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.mk.sll;
+
+import java.util.*;
+
+/**
+ * Iterator that lazily merges several already sorted iterators into one sorted sequence (k-way merge).
+ * <p>
+ * The current head of every source is kept in a binary min-heap of source indices, so {@link #next()} costs
+ * O(log k) comparisons, where k is the number of sources. No objects are allocated per element. Elements that are
+ * equal according to the comparator are returned in the order of their sources (stable tie-break by source).
+ * <p>
+ * Sources must not be modified structurally while the iterator is in use. Whether this is detected depends on the
+ * iterators of the sources.
+ *
+ * @param <E> type of elements
+ */
+public class MergingIterator<E> implements Iterator<E> {
+
+    private final Comparator<E> comparator;
+
+    private final List<? extends Iterator<? extends E>> sources;
+
+    /**
+     * Current head of every source. Index is the index of the source.
+     */
+    private final Object[] heads;
+
+    /**
+     * Binary min-heap of source indices ordered by their heads.
+     */
+    private final int[] heap;
+
+    private int heapSize;
+
+    /**
+     * @param comparator the comparator all sources are sorted by.
+     * @param sources    iterators returning elements sorted by comparator. The order of sources defines the
+     *                   tie-break of equal elements.
+     */
+    public MergingIterator(Comparator<E> comparator, List<? extends Iterator<? extends E>> sources) {
+        this.comparator = comparator;
+        this.sources = sources;
+        heads = new Object[sources.size()];
+        heap = new int[sources.size()];
+        for (int source = 0; source < heads.length; source++) {
+            Iterator<? extends E> iterator = sources.get(source);
+            if (iterator.hasNext()) {
+                heads[source] = iterator.next();
+                heap[heapSize++] = source;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return heapSize > 0;
+    }
+
+    @Override
+    public E next() {
+        if (heapSize == 0) {
+            throw new NoSuchElementException();
+        }
+        E result = head(heap[0]);
+        advanceTop();
+        return result;
+    }
+
+    /**
+     * Returns the element that would be returned by {@link #next()} without consuming it.
+     *
+     * @throws NoSuchElementException if there are no more elements.
+     */
+    public E peek() {
+        if (heapSize == 0) {
+            throw new NoSuchElementException();
+        }
+        return head(heap[0]);
+    }
+
+    /**
+     * Skips all elements lower than value, so the next call of {@link #next()} returns the first element that is the
+     * same or after value. Every skipped element is compared with value and then replaced by the next element of its
+     * source like in {@link #next()}, so skipping n elements costs O(n log k) comparisons. Sources are iterators,
+     * they can't be searched by bisection.
+     *
+     * @param value may be null if comparator allows nulls.
+     * @return true if there is an element that is the same or after value.
+     */
+    public boolean skipTo(E value) {
+        while (heapSize > 0 && comparator.compare(head(heap[0]), value) < 0) {
+            advanceTop();
+        }
+        return heapSize > 0;
+    }
+
+    /**
+     * Replaces the head of the top source by its next element, or removes the source from the heap if it's exhausted.
+     */
+    private void advanceTop() {
+        int top = heap[0];
+        Iterator<? extends E> iterator = sources.get(top);
+        if (iterator.hasNext()) {
+            heads[top] = iterator.next();
+        } else {
+            // release the reference, the source won't be used any more
+            heads[top] = null;
+            heap[0] = heap[--heapSize];
+        }
+        if (heapSize > 0) {
+            siftDown(0);
+        }
+    }
+
+    private void siftDown(int position) {
+        int source = heap[position];
+        int half = heapSize / 2;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < heapSize && isBefore(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!isBefore(heap[child], source)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = source;
+    }
+
+    /**
+     * @return true if the head of source1 must be returned before the head of source2.
+     */
+    private boolean isBefore(int source1, int source2) {
+        int result = comparator.compare(head(source1), head(source2));
+        // equal elements keep the order of sources
+        return result < 0 || (result == 0 && source1 < source2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E head(int source) {
+        return (E) heads[source];
+    }
+}
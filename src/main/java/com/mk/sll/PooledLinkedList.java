@@ -0,0 +1,460 @@
+package com.mk.sll;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Doubly linked list similar to {@link LinkedList}, used as the delegate of {@link SortedLinkedList}. Unlike
+ * {@link LinkedList} it gives {@link SortedLinkedList} access to its nodes, so elements can be inserted without
+ * creating an iterator, and it can keep removed nodes in a free-list and reuse them for new elements.
+ *
+ * @param <E> type of elements
+ */
+@SuppressWarnings("NullableProblems")
+class PooledLinkedList<E> extends AbstractSequentialList<E> {
+
+    private Node<E> first;
+
+    private Node<E> last;
+
+    private int size;
+
+    /**
+     * Maximal number of nodes kept for reuse. Zero disables the pool.
+     */
+    private final int poolCapacity;
+
+    /**
+     * Free-list of removed nodes linked by {@link Node#next}.
+     */
+    private Node<E> pool;
+
+    private int poolSize;
+
+    PooledLinkedList(int poolCapacity) {
+        if (poolCapacity < 0) {
+            throw new IllegalArgumentException("poolCapacity must not be negative, was " + poolCapacity);
+        }
+        this.poolCapacity = poolCapacity;
+    }
+
+    /**
+     * Creates a list from an already linked chain of nodes.
+     */
+    private PooledLinkedList(int poolCapacity, Node<E> first, Node<E> last, int size) {
+        this(poolCapacity);
+        this.first = first;
+        this.last = last;
+        this.size = size;
+    }
+
+    Node<E> first() {
+        return first;
+    }
+
+    Node<E> last() {
+        return last;
+    }
+
+    /**
+     * Exposes {@link AbstractList#modCount} to iterators outside of this class.
+     */
+    int modCount() {
+        return modCount;
+    }
+
+    int poolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Inserts element before successor.
+     *
+     * @param successor if null, the element is appended to the end of the list.
+     */
+    void linkBefore(E element, Node<E> successor) {
+        Node<E> predecessor = successor == null ? last : successor.prev;
+        Node<E> node = newNode(element, predecessor, successor);
+        if (predecessor == null) {
+            first = node;
+        } else {
+            predecessor.next = node;
+        }
+        if (successor == null) {
+            last = node;
+        } else {
+            successor.prev = node;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the node from the list and returns it to the pool.
+     *
+     * @return element of the removed node.
+     */
+    E unlink(Node<E> node) {
+        E element = node.item;
+        Node<E> predecessor = node.prev;
+        Node<E> successor = node.next;
+        if (predecessor == null) {
+            first = successor;
+        } else {
+            predecessor.next = successor;
+        }
+        if (successor == null) {
+            last = predecessor;
+        } else {
+            successor.prev = predecessor;
+        }
+        size--;
+        modCount++;
+        recycle(node);
+        return element;
+    }
+
+    /**
+     * Removes the run of nodes from the list without visiting them and returns them as a new list. Nodes are moved,
+     * not copied.
+     *
+     * @param from  the first node of the run.
+     * @param to    the last node of the run. Must be the same as from or after it.
+     * @param count number of nodes in the run.
+     * @return list with the removed nodes.
+     */
+    PooledLinkedList<E> detach(Node<E> from, Node<E> to, int count) {
+        Node<E> predecessor = from.prev;
+        Node<E> successor = to.next;
+        if (predecessor == null) {
+            first = successor;
+        } else {
+            predecessor.next = successor;
+        }
+        if (successor == null) {
+            last = predecessor;
+        } else {
+            successor.prev = predecessor;
+        }
+        size -= count;
+        modCount++;
+        from.prev = null;
+        to.next = null;
+        return new PooledLinkedList<>(poolCapacity, from, to, count);
+    }
+
+    /**
+     * Moves all nodes of other to the end of this list without visiting them. Other list is empty after the call.
+     */
+    void append(PooledLinkedList<E> other) {
+        if (other.first == null) {
+            return;
+        }
+        if (last == null) {
+            first = other.first;
+        } else {
+            last.next = other.first;
+            other.first.prev = last;
+        }
+        last = other.last;
+        size += other.size;
+        modCount++;
+        other.first = null;
+        other.last = null;
+        other.size = 0;
+        other.modCount++;
+    }
+
+    /**
+     * Returns node at the index. Walks from the nearer end of the list.
+     */
+    Node<E> node(int index) {
+        if (index < (size >> 1)) {
+            Node<E> node = first;
+            for (int i = 0; i < index; i++) {
+                node = node.next;
+            }
+            return node;
+        } else {
+            Node<E> node = last;
+            for (int i = size - 1; i > index; i--) {
+                node = node.prev;
+            }
+            return node;
+        }
+    }
+
+    private Node<E> newNode(E element, Node<E> prev, Node<E> next) {
+        Node<E> node = pool;
+        if (node == null) {
+            return new Node<>(element, prev, next);
+        }
+        pool = node.next;
+        poolSize--;
+        node.item = element;
+        node.prev = prev;
+        node.next = next;
+        return node;
+    }
+
+    private void recycle(Node<E> node) {
+        // release references, so the pool doesn't keep garbage reachable
+        node.item = null;
+        node.prev = null;
+        if (poolSize < poolCapacity) {
+            node.next = pool;
+            pool = node;
+            poolSize++;
+        } else {
+            node.next = null;
+        }
+    }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(E element) {
+        linkBefore(element, null);
+        return true;
+    }
+
+    @Override
+    public E get(int index) {
+        checkElementIndex(index);
+        return node(index).item;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkElementIndex(index);
+        return unlink(node(index));
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        for (Node<E> node = first; node != null; node = node.next) {
+            if (Objects.equals(o, node.item)) {
+                unlink(node);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        boolean removed = false;
+        Node<E> node = first;
+        while (node != null) {
+            Node<E> next = node.next;
+            if (filter.test(node.item)) {
+                unlink(node);
+                removed = true;
+            }
+            node = next;
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Node<E> node = first;
+        while (node != null) {
+            Node<E> next = node.next;
+            recycle(node);
+            node = next;
+        }
+        first = null;
+        last = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        int index = 0;
+        for (Node<E> node = first; node != null; node = node.next) {
+            if (Objects.equals(o, node.item)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        int index = size - 1;
+        for (Node<E> node = last; node != null; node = node.prev) {
+            if (Objects.equals(o, node.item)) {
+                return index;
+            }
+            index--;
+        }
+        return -1;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        int i = 0;
+        for (Node<E> node = first; node != null; node = node.next) {
+            result[i++] = node.item;
+        }
+        return result;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (Node<E> node = first; node != null && modCount == expectedModCount; node = node.next) {
+            action.accept(node.item);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new ListItr(index);
+    }
+
+
+    static final class Node<E> {
+
+        E item;
+
+        Node<E> prev;
+
+        Node<E> next;
+
+        Node(E item, Node<E> prev, Node<E> next) {
+            this.item = item;
+            this.prev = prev;
+            this.next = next;
+        }
+    }
+
+
+    private class ListItr implements ListIterator<E> {
+
+        private Node<E> lastReturned;
+
+        private Node<E> next;
+
+        private int nextIndex;
+
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            next = index == size ? null : node(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.item;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            next = next == null ? last : next.prev;
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.item;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            // unlink recycles the node, so its successor must be read before
+            Node<E> lastNext = lastReturned.next;
+            if (next == lastReturned) {
+                // previous() was called
+                next = lastNext;
+            } else {
+                nextIndex--;
+            }
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E element) {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            lastReturned.item = element;
+        }
+
+        @Override
+        public void add(E element) {
+            checkForComodification();
+            lastReturned = null;
+            linkBefore(element, next);
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
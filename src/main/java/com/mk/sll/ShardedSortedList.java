@@ -0,0 +1,806 @@
+package com.mk.sll;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread safe sorted list that partitions values into contiguous ranges (shards). Every shard is a
+ * {@link SortedLinkedList} guarded by its own lock, so writers of different ranges don't block each other. A routing
+ * table maps values to shards. Shards that grow over the maximal size or whose lock is often contended are split,
+ * small neighbouring shards are merged.
+ * <p>
+ * The routing table is immutable and published by a volatile write, so looking up a shard takes no lock and writes no
+ * shared memory. A rebalance locks only the shards it splits or merges, publishes a new table and marks the replaced
+ * shards as retired. An operation that locks a retired shard looks the shard up again in the new table. The only shared
+ * word every operation touches is the lock of its shard, so writers scale with the number of shards they hit, not
+ * with the number of threads.
+ * <p>
+ * Single element operations are atomic. Operations spanning more shards ({@link #size()}, {@link #get(int)},
+ * iteration) lock one shard at a time, so they are only weakly consistent when the list is modified concurrently.
+ * Iterators work over a snapshot of the list and never throw {@link ConcurrentModificationException}.
+ * <p>
+ * Elements are located by the comparator, so the comparator must be consistent with equals.
+ *
+ * @param <E> type of elements
+ */
+@SuppressWarnings("NullableProblems")
+public class ShardedSortedList<E> implements List<E> {
+
+    public static final int DEFAULT_MAX_SHARD_SIZE = 4096;
+
+    /**
+     * Number of contended lock acquisitions after which a shard is split even if it isn't too large.
+     */
+    private static final int CONTENTION_THRESHOLD = 64;
+
+    private final Comparator<E> comparator;
+
+    private final int maxShardSize;
+
+    private final int minShardSize;
+
+    /**
+     * Serializes changes of the routing table. Operations using shards don't take it.
+     */
+    private final ReentrantLock rebalanceLock = new ReentrantLock();
+
+    /**
+     * Routing table ordered by lower bounds. The first shard has no lower bound. The list is never modified after it
+     * is published, a changed copy is published instead under rebalanceLock.
+     */
+    private volatile List<Shard<E>> shards;
+
+    /**
+     * Number of calls of {@link #rebalance()}. Guarded by rebalanceLock.
+     */
+    private int rebalanceCount;
+
+    public ShardedSortedList(Comparator<E> comparator) {
+        this(comparator, DEFAULT_MAX_SHARD_SIZE);
+    }
+
+    /**
+     * @param maxShardSize shards larger than this are split. Shards smaller than a quarter of it are merged with
+     *                     their neighbours.
+     */
+    public ShardedSortedList(Comparator<E> comparator, int maxShardSize) {
+        if (maxShardSize < 2) {
+            throw new IllegalArgumentException("maxShardSize must be at least 2, was " + maxShardSize);
+        }
+        this.comparator = comparator;
+        this.maxShardSize = maxShardSize;
+        this.minShardSize = maxShardSize / 4;
+        shards = List.of(newSingleShard(new SortedLinkedList<>(comparator)));
+    }
+
+    /**
+     * Puts a new element into the shard whose range contains it.
+     *
+     * @param newElement may be null if comparator allows nulls.
+     * @return true if this list changed as a result of the call.
+     * @see SortedLinkedList#put(Object)
+     */
+    public boolean put(E newElement) {
+        boolean rebalance;
+        Shard<E> shard = lockShardFor(newElement);
+        try {
+            shard.list.put(newElement);
+            rebalance = isOversized(shard);
+        } finally {
+            shard.lock.unlock();
+        }
+        if (rebalance) {
+            rebalance();
+        }
+        return true;
+    }
+
+    /**
+     * Puts a content of the newElements collection into the list. Elements are sorted first, then every shard gets
+     * its whole run of new elements at once.
+     *
+     * @param newElements may be null. May contain null if comparator allows nulls.
+     * @return true if this list changed as a result of the call.
+     * @see SortedLinkedList#putAll(Collection)
+     */
+    public boolean putAll(Collection<? extends E> newElements) {
+        if (newElements == null || newElements.isEmpty()) {
+            return false;
+        }
+
+        //defensive copy, because we'll depend on sorting
+        List<E> newElementsCopy = new ArrayList<>(newElements);
+        //validates nullability
+        newElementsCopy.sort(comparator);
+
+        boolean rebalance = false;
+        int from = 0;
+        while (from < newElementsCopy.size()) {
+            // the batch may skip shards, so every run is routed by its first element
+            Shard<E> shard = lockShardFor(newElementsCopy.get(from));
+            try {
+                // elements are sorted, so the run of the shard ends where its range ends
+                int to = from + 1;
+                while (to < newElementsCopy.size() && isBeforeUpperBound(shard, newElementsCopy.get(to))) {
+                    to++;
+                }
+                shard.list.putAll(newElementsCopy.subList(from, to));
+                rebalance |= isOversized(shard);
+                from = to;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        if (rebalance) {
+            rebalance();
+        }
+        return true;
+    }
+
+    /**
+     * Finds the shard whose range contains the element.
+     *
+     * @return index of the last shard whose lower bound is the same or before element.
+     */
+    private int shardIndex(List<Shard<E>> shards, E element) {
+        int low = 1;
+        int high = shards.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(shards.get(middle).lowerBound, element) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high < 1 ? 0 : high;
+    }
+
+    /**
+     * Locks the shard whose range contains the element for a modification. If the shard was retired before it was
+     * locked, it's looked up again in the current routing table. The comparator is called before the shard is locked.
+     *
+     * @return the locked shard. It isn't retired and its range can't change until it's unlocked.
+     */
+    private Shard<E> lockShardFor(E element) {
+        while (true) {
+            List<Shard<E>> current = shards;
+            Shard<E> shard = current.get(shardIndex(current, element));
+            lockForWrite(shard);
+            if (!shard.retired) {
+                return shard;
+            }
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * @return false if the element belongs to a shard after this one.
+     */
+    private boolean isBeforeUpperBound(Shard<E> shard, E element) {
+        return shard.last || comparator.compare(element, shard.upperBound) < 0;
+    }
+
+    /**
+     * Locks the shard for a modification and counts contention, which is later used to split hot shards. Readers lock
+     * shards directly, so they don't make shards hot.
+     */
+    private void lockForWrite(Shard<E> shard) {
+        if (!shard.lock.tryLock()) {
+            shard.lock.lock();
+            shard.contention++;
+        }
+    }
+
+    /**
+     * Must be called under the lock of the shard.
+     *
+     * @return true if the shard is too large or too hot and can be split.
+     */
+    private boolean isOversized(Shard<E> shard) {
+        return (shard.list.size() > maxShardSize
+                || (shard.contention >= CONTENTION_THRESHOLD && shard.list.size() > minShardSize * 2))
+                && isSplittable(shard);
+    }
+
+    /**
+     * A shard with only same elements can't be split, because they must stay in one shard. The list is sorted, so
+     * it's enough to compare the first and the last element. Must be called under the lock of the shard.
+     */
+    private boolean isSplittable(Shard<E> shard) {
+        SortedLinkedList<E> list = shard.list;
+        return list.size() > 1 && comparator.compare(list.get(0), list.get(list.size() - 1)) < 0;
+    }
+
+    /**
+     * Must be called under the lock of the shard.
+     */
+    private boolean isUndersized(Shard<E> shard) {
+        return shard.list.size() < minShardSize;
+    }
+
+    /**
+     * Splits oversized shards and merges undersized neighbours. Only the shards being split or merged are locked,
+     * writers of other shards aren't blocked.
+     */
+    private void rebalance() {
+        rebalanceLock.lock();
+        try {
+            rebalanceCount++;
+            int i = 0;
+            while (i < shards.size()) {
+                Shard<E> shard = shards.get(i);
+                boolean split;
+                shard.lock.lock();
+                try {
+                    split = isOversized(shard) && splitShard(i);
+                    if (!split) {
+                        shard.contention = 0;
+                    }
+                } finally {
+                    shard.lock.unlock();
+                }
+                if (!split) {
+                    // both halves of a split shard are checked again
+                    i++;
+                }
+            }
+            i = 0;
+            while (i + 1 < shards.size()) {
+                Shard<E> left = shards.get(i);
+                Shard<E> right = shards.get(i + 1);
+                boolean merged = false;
+                left.lock.lock();
+                right.lock.lock();
+                try {
+                    if ((isUndersized(left) || isUndersized(right)) && left.list.size() + right.list.size() <= maxShardSize) {
+                        mergeShards(i);
+                        merged = true;
+                    }
+                } finally {
+                    right.lock.unlock();
+                    left.lock.unlock();
+                }
+                if (!merged) {
+                    i++;
+                }
+            }
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * Splits the shard into two halves. Must be called under rebalanceLock and the lock of the shard.
+     * <p>
+     * The upper half starts at the element closest to the middle that is after its predecessor. Same elements must
+     * stay in the same shard, because the lower bound decides where an element belongs. The nodes are walked by a
+     * cursor until such an element at or after the middle is found, so the shard isn't copied.
+     *
+     * @return false if the shard can't be split.
+     */
+    private boolean splitShard(int shardIndex) {
+        Shard<E> shard = shards.get(shardIndex);
+        SortedLinkedList<E> list = shard.list;
+        if (list.size() < 2) {
+            return false;
+        }
+        int middle = list.size() / 2;
+        E upperBound = null;
+        boolean found = false;
+        SortedLinkedList.Cursor<E> cursor = list.cursor();
+        E previous = cursor.next();
+        for (int i = 1; cursor.hasNext(); i++) {
+            E element = cursor.next();
+            if (comparator.compare(previous, element) < 0) {
+                // the last boundary before the middle is used if there is none after it
+                upperBound = element;
+                found = true;
+                if (i >= middle) {
+                    break;
+                }
+            }
+            previous = element;
+        }
+        if (!found) {
+            // all elements are the same, they must stay in one shard
+            return false;
+        }
+        // the lower half keeps the list, the upper half is moved to the new shard without copying
+        SortedLinkedList<E> upperList = list.removeAbove(upperBound, true);
+        replaceShards(shardIndex, 1, List.of(
+                new Shard<>(shard.lowerBound, upperBound, false, list),
+                new Shard<>(upperBound, shard.upperBound, shard.last, upperList)));
+        return true;
+    }
+
+    /**
+     * Merges the shard with its right neighbour. The nodes of the right shard are linked after the nodes of the left
+     * one, so nothing is copied or compared. Must be called under rebalanceLock and the locks of both shards.
+     */
+    private void mergeShards(int shardIndex) {
+        Shard<E> left = shards.get(shardIndex);
+        Shard<E> right = shards.get(shardIndex + 1);
+        left.list.append(right.list);
+        replaceShards(shardIndex, 2, List.of(new Shard<>(left.lowerBound, right.upperBound, right.last, left.list)));
+    }
+
+    /**
+     * Publishes a new routing table with count shards from shardIndex replaced and retires the replaced shards. Must be
+     * called under rebalanceLock and the locks of the replaced shards, after the last change of their lists.
+     */
+    private void replaceShards(int shardIndex, int count, List<Shard<E>> replacement) {
+        List<Shard<E>> current = shards;
+        List<Shard<E>> newShards = new ArrayList<>(current.size() - count + replacement.size());
+        newShards.addAll(current.subList(0, shardIndex));
+        newShards.addAll(replacement);
+        newShards.addAll(current.subList(shardIndex + count, current.size()));
+        shards = Collections.unmodifiableList(newShards);
+        for (Shard<E> shard : current.subList(shardIndex, shardIndex + count)) {
+            shard.retired = true;
+        }
+    }
+
+    /**
+     * Replaces the whole routing table by one shard with the list. Must be called under rebalanceLock. Locks all
+     * shards, so it waits for all running operations.
+     */
+    private void replaceAllShards(SortedLinkedList<E> list) {
+        List<Shard<E>> current = shards;
+        current.forEach(shard -> shard.lock.lock());
+        try {
+            replaceShards(0, current.size(), List.of(newSingleShard(list)));
+        } finally {
+            current.forEach(shard -> shard.lock.unlock());
+        }
+    }
+
+    private Shard<E> newSingleShard(SortedLinkedList<E> list) {
+        return new Shard<>(null, null, true, list);
+    }
+
+    /**
+     * Copies all elements into a new list. Shards are locked one at a time.
+     */
+    private List<E> snapshot() {
+        List<E> snapshot = new ArrayList<>();
+        retry:
+        while (true) {
+            snapshot.clear();
+            for (Shard<E> shard : shards) {
+                shard.lock.lock();
+                try {
+                    if (shard.retired) {
+                        continue retry;
+                    }
+                    snapshot.addAll(shard.list);
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * @return index of the shard that would contain the object or -1 if the object can't be compared.
+     */
+    @SuppressWarnings("unchecked")
+    private int shardIndexOf(List<Shard<E>> shards, Object o) {
+        try {
+            return shardIndex(shards, (E) o);
+        } catch (ClassCastException | NullPointerException e) {
+            // the element can't be in the list if comparator can't compare it
+            return -1;
+        }
+    }
+
+    /**
+     * Removes elements matching the filter shard by shard.
+     */
+    private boolean removeMatching(Predicate<? super E> filter) {
+        boolean changed = false;
+        retry:
+        while (true) {
+            for (Shard<E> shard : shards) {
+                lockForWrite(shard);
+                try {
+                    if (shard.retired) {
+                        // elements of the retired shard are in the new routing table, shards done are checked again
+                        continue retry;
+                    }
+                    changed |= shard.list.removeIf(filter);
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+            break;
+        }
+        if (changed) {
+            rebalance();
+        }
+        return changed;
+    }
+
+    /**
+     * @return number of shards in the routing table.
+     */
+    int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * @return number of rebalances of the routing table.
+     */
+    int rebalanceCount() {
+        rebalanceLock.lock();
+        try {
+            return rebalanceCount;
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        retry:
+        while (true) {
+            int size = 0;
+            for (Shard<E> shard : shards) {
+                shard.lock.lock();
+                try {
+                    if (shard.retired) {
+                        continue retry;
+                    }
+                    size += shard.list.size();
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+            return size;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object o : c) {
+            if (!contains(o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public E get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        retry:
+        while (true) {
+            int remaining = index;
+            for (Shard<E> shard : shards) {
+                shard.lock.lock();
+                try {
+                    if (shard.retired) {
+                        continue retry;
+                    }
+                    if (remaining < shard.list.size()) {
+                        return shard.list.get(remaining);
+                    }
+                    remaining -= shard.list.size();
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return indexOf(o, false);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o, true);
+    }
+
+    private int indexOf(Object o, boolean last) {
+        retry:
+        while (true) {
+            List<Shard<E>> current = shards;
+            int shardIndex = shardIndexOf(current, o);
+            if (shardIndex < 0) {
+                return -1;
+            }
+            int offset = 0;
+            for (Shard<E> shard : current.subList(0, shardIndex)) {
+                shard.lock.lock();
+                try {
+                    if (shard.retired) {
+                        continue retry;
+                    }
+                    offset += shard.list.size();
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+            Shard<E> shard = current.get(shardIndex);
+            shard.lock.lock();
+            try {
+                if (shard.retired) {
+                    continue retry;
+                }
+                int index = last ? shard.list.lastIndexOf(o) : shard.list.indexOf(o);
+                return index < 0 ? -1 : offset + index;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object o) {
+        Shard<E> shard;
+        try {
+            shard = lockShardFor((E) o);
+        } catch (ClassCastException | NullPointerException e) {
+            // the element can't be in the list if comparator can't compare it
+            return false;
+        }
+        boolean removed;
+        boolean rebalance;
+        try {
+            removed = shard.list.remove(o);
+            rebalance = removed && shards.size() > 1 && isUndersized(shard);
+        } finally {
+            shard.lock.unlock();
+        }
+        if (rebalance) {
+            rebalance();
+        }
+        return removed;
+    }
+
+    @Override
+    public E remove(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        E removed = null;
+        boolean found = false;
+        boolean rebalance = false;
+        retry:
+        while (true) {
+            int remaining = index;
+            for (Shard<E> shard : shards) {
+                shard.lock.lock();
+                try {
+                    if (shard.retired) {
+                        continue retry;
+                    }
+                    if (remaining < shard.list.size()) {
+                        removed = shard.list.remove(remaining);
+                        found = true;
+                        rebalance = shards.size() > 1 && isUndersized(shard);
+                        break retry;
+                    }
+                    remaining -= shard.list.size();
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+            break;
+        }
+        if (!found) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        if (rebalance) {
+            rebalance();
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return removeMatching(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return removeMatching(element -> !c.contains(element));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return removeMatching(filter);
+    }
+
+    @Override
+    public void clear() {
+        rebalanceLock.lock();
+        try {
+            replaceAllShards(new SortedLinkedList<>(comparator));
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces all elements and sorts them again. Elements may move between shards, so the whole list is rebuilt.
+     * All shards are locked while the elements are replaced.
+     */
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        rebalanceLock.lock();
+        try {
+            List<Shard<E>> current = shards;
+            current.forEach(shard -> shard.lock.lock());
+            try {
+                List<E> replaced = new ArrayList<>();
+                for (Shard<E> shard : current) {
+                    for (E element : shard.list) {
+                        replaced.add(operator.apply(element));
+                    }
+                }
+                replaceShards(0, current.size(), List.of(newSingleShard(new SortedLinkedList<>(comparator, replaced))));
+            } finally {
+                current.forEach(shard -> shard.lock.unlock());
+            }
+            rebalance();
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the list. The iterator doesn't support remove.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Collections.unmodifiableList(snapshot()).iterator();
+    }
+
+    /**
+     * Returns a list iterator over a snapshot of the list. The iterator doesn't support modifications.
+     */
+    @Override
+    public ListIterator<E> listIterator() {
+        return Collections.unmodifiableList(snapshot()).listIterator();
+    }
+
+    /**
+     * Returns a list iterator over a snapshot of the list. The iterator doesn't support modifications.
+     */
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return Collections.unmodifiableList(snapshot()).listIterator(index);
+    }
+
+    /**
+     * Returns a part of a snapshot of the list. The returned list is unmodifiable.
+     */
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        return Collections.unmodifiableList(snapshot().subList(fromIndex, toIndex));
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return snapshot().toArray(a);
+    }
+
+
+    //Unsupported methods - see README.md
+
+    /**
+     * Sorting by different comparator is not supported.
+     */
+    @Override
+    public void sort(Comparator<? super E> c) {
+        throw new UnsupportedOperationException("Sorting by different comparator is not supported.");
+    }
+
+    /**
+     * Unsupported operation, because it would break List contract that says that added element must be added to the
+     * end of the list. Position in {@link ShardedSortedList} is defined by comparator.
+     */
+    @Override
+    public boolean add(E e) {
+        throw new UnsupportedOperationException("Use put instead.");
+    }
+
+    /**
+     * Unsupported operation, because it would break List contract that says that added element must be added to the
+     * end of the list. Position in {@link ShardedSortedList} is defined by comparator.
+     */
+    @Override
+    public void add(int index, E element) {
+        throw new UnsupportedOperationException("Use put instead.");
+    }
+
+    /**
+     * Unsupported operation, because it would break List contract that says that added element must be added to the
+     * end of the list. Position in {@link ShardedSortedList} is defined by comparator.
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        throw new UnsupportedOperationException("Use putAll instead.");
+    }
+
+    /**
+     * Unsupported operation, because it would break List contract that says that added element must be added to the
+     * end of the list. Position in {@link ShardedSortedList} is defined by comparator.
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        throw new UnsupportedOperationException("Use putAll instead.");
+    }
+
+    /**
+     * Unsupported operation. Set is supposed to change element on a particular position but change of the position
+     * is not expected. Position in {@link ShardedSortedList} is defined by comparator.
+     */
+    @Override
+    public E set(int index, E element) {
+        throw new UnsupportedOperationException();
+    }
+
+
+    private static final class Shard<E> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Lowest value the shard may contain. Not used for the first shard.
+         */
+        private final E lowerBound;
+
+        /**
+         * Lower bound of the next shard. Not used for the last shard.
+         */
+        private final E upperBound;
+
+        private final boolean last;
+
+        private final SortedLinkedList<E> list;
+
+        /**
+         * Number of lock acquisitions that had to wait. Guarded by lock.
+         */
+        private int contention;
+
+        /**
+         * True after the shard was replaced in the routing table. Its elements are in the shards that replaced it.
+         * Guarded by lock.
+         */
+        private boolean retired;
+
+        private Shard(E lowerBound, E upperBound, boolean last, SortedLinkedList<E> list) {
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.last = last;
+            this.list = list;
+        }
+    }
+}
@@ -15,24 +15,57 @@ import java.util.stream.Stream;
 @SuppressWarnings("NullableProblems")
 public class SortedLinkedList<E> implements List<E> {
 
-    private final LinkedList<E> delegate;
+    private final PooledLinkedList<E> delegate;
 
     private final Comparator<E> comparator;
 
     public SortedLinkedList(Comparator<E> comparator) {
+        this(comparator, 0);
+    }
+
+    /**
+     * Creates a list that keeps up to nodePoolCapacity removed nodes and reuses them for new elements, so lists with
+     * frequent put and remove calls produce less garbage.
+     *
+     * @param nodePoolCapacity maximal number of nodes kept for reuse. Zero disables the pool.
+     */
+    public SortedLinkedList(Comparator<E> comparator, int nodePoolCapacity) {
         this.comparator = comparator;
-        delegate = new LinkedList<>();
+        delegate = new PooledLinkedList<>(nodePoolCapacity);
     }
 
     public SortedLinkedList(Comparator<E> comparator, Collection<? extends E> collection) {
         this.comparator = comparator;
-        delegate = new LinkedList<>(collection);
+        delegate = new PooledLinkedList<>(0);
+        delegate.addAll(collection);
         delegate.sort(comparator);
     }
 
     /**
-     * Puts a new element into correct place of already sorted list. Iterates through the list until it finds
-     * correct position to insert the new element.
+     * Wraps already sorted delegate.
+     */
+    private SortedLinkedList(Comparator<E> comparator, PooledLinkedList<E> delegate) {
+        this.comparator = comparator;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates a lazy sorted view over several lists sorted by the same comparator. The lists are merged by a heap-based
+     * k-way merge while the view is iterated, so nothing is copied or sorted and taking first N elements touches
+     * only N * log(k) elements.
+     *
+     * @param comparator the comparator all lists are sorted by.
+     * @param lists      lists to merge. Equal elements are returned in the order of the lists in this collection.
+     * @return view over the current and future content of the lists.
+     */
+    public static <E> MergedView<E> mergedView(Comparator<E> comparator, Collection<? extends SortedLinkedList<E>> lists) {
+        return new MergedView<>(comparator, lists);
+    }
+
+    /**
+     * Puts a new element into correct place of already sorted list. Iterates through the nodes of the list until it
+     * finds correct position to insert the new element. An element that is after all elements is appended without
+     * iterating.
      *
      * @param newElement may be null if comparator allows nulls. Otherwise, throws the same exception as comparator called
      *                   by List#sort would.
@@ -44,9 +77,13 @@ public class SortedLinkedList<E> implements List<E> {
         // inserted
         validateNullability(newElement);
 
-        ListIterator<E> listIterator = delegate.listIterator();
-        moveListIteratorToPositionToAddNewElement(newElement, listIterator);
-        listIterator.add(newElement);
+        PooledLinkedList.Node<E> last = delegate.last();
+        if (last != null && !elementInListIsSameOrAfterNewElement(last.item, newElement)) {
+            // the most common case for values coming in order
+            delegate.linkBefore(newElement, null);
+        } else {
+            delegate.linkBefore(newElement, findNodeSameOrAfterNewElement(newElement, delegate.first()));
+        }
         return true;
     }
 
@@ -67,10 +104,11 @@ public class SortedLinkedList<E> implements List<E> {
         //validates nullability
         newElementsCopy.sort(comparator);
 
-        ListIterator<E> listIterator = delegate.listIterator();
+        // new elements are sorted, so the search for the next one continues from the position of the previous one
+        PooledLinkedList.Node<E> position = delegate.first();
         for (E newElement : newElementsCopy) {
-            moveListIteratorToPositionToAddNewElement(newElement, listIterator);
-            listIterator.add(newElement);
+            position = findNodeSameOrAfterNewElement(newElement, position);
+            delegate.linkBefore(newElement, position);
         }
         return !newElements.isEmpty();
     }
@@ -97,23 +135,142 @@ public class SortedLinkedList<E> implements List<E> {
 
 
     /**
-     * Method that moves iterator to the position, where add can be called ti insert new element. Method has a side effect -
-     * it changes listIterator.
+     * Method that finds the node, before which the new element must be inserted.
      *
-     * @param newElement   will be compared to existing elements in the list to find the correct position of the iterator.
-     * @param listIterator may be changed by method
+     * @param newElement will be compared to existing elements in the list to find the correct position.
+     * @param start      the node where the search starts. All nodes before it must be before newElement.
+     * @return the first node that is the same or after newElement, or null if newElement belongs to the end of the list.
      */
-    private void moveListIteratorToPositionToAddNewElement(E newElement, ListIterator<E> listIterator) {
-        while (listIterator.hasNext()) {
-            E elementInList = listIterator.next();
-            if (elementInListIsSameOrAfterNewElement(elementInList, newElement)) {
-                // The new element is already after the element in the list. We need get one step back by calling
-                // listIterator.previous() to use listIterator.add(newElement)
-                // we know that there is previous, because we called next() earlier
-                listIterator.previous();
-                break;
-            }
+    private PooledLinkedList.Node<E> findNodeSameOrAfterNewElement(E newElement, PooledLinkedList.Node<E> start) {
+        PooledLinkedList.Node<E> node = start;
+        while (node != null && !elementInListIsSameOrAfterNewElement(node.item, newElement)) {
+            node = node.next;
+        }
+        return node;
+    }
+
+    /**
+     * Removes all elements before to. Same as {@code removeBelow(to, false)}.
+     *
+     * @see #removeBelow(Object, boolean)
+     */
+    public SortedLinkedList<E> removeBelow(E to) {
+        return removeBelow(to, false);
+    }
+
+    /**
+     * Removes the prefix of the list with elements before to. Only the removed elements are compared, then the whole
+     * run is detached at once.
+     *
+     * @param to        upper bound of removed elements.
+     * @param inclusive true if elements that are the same as to are removed too.
+     * @return list with the removed elements. The nodes are moved to it, not copied.
+     */
+    public SortedLinkedList<E> removeBelow(E to, boolean inclusive) {
+        PooledLinkedList.Node<E> runEnd = null;
+        int count = 0;
+        for (PooledLinkedList.Node<E> node = delegate.first(); node != null && isBelow(node.item, to, inclusive); node = node.next) {
+            runEnd = node;
+            count++;
+        }
+        return detach(delegate.first(), runEnd, count);
+    }
+
+    /**
+     * Removes all elements after from. Same as {@code removeAbove(from, false)}.
+     *
+     * @see #removeAbove(Object, boolean)
+     */
+    public SortedLinkedList<E> removeAbove(E from) {
+        return removeAbove(from, false);
+    }
+
+    /**
+     * Removes the suffix of the list with elements after from. The list is walked from its end, so only the removed
+     * elements are compared, then the whole run is detached at once.
+     *
+     * @param from      lower bound of removed elements.
+     * @param inclusive true if elements that are the same as from are removed too.
+     * @return list with the removed elements. The nodes are moved to it, not copied.
+     */
+    public SortedLinkedList<E> removeAbove(E from, boolean inclusive) {
+        PooledLinkedList.Node<E> runStart = null;
+        int count = 0;
+        for (PooledLinkedList.Node<E> node = delegate.last(); node != null && isAbove(node.item, from, inclusive); node = node.prev) {
+            runStart = node;
+            count++;
+        }
+        return detach(runStart, delegate.last(), count);
+    }
+
+    /**
+     * Removes all elements from from (inclusive) to to (exclusive). Same as {@code removeRange(from, true, to, false)}.
+     *
+     * @see #removeRange(Object, boolean, Object, boolean)
+     */
+    public SortedLinkedList<E> removeRange(E from, E to) {
+        return removeRange(from, true, to, false);
+    }
+
+    /**
+     * Removes the run of elements between from and to. Elements before the run and the removed elements are compared,
+     * then the whole run is detached at once.
+     *
+     * @param from          lower bound of removed elements.
+     * @param fromInclusive true if elements that are the same as from are removed too.
+     * @param to            upper bound of removed elements.
+     * @param toInclusive   true if elements that are the same as to are removed too.
+     * @return list with the removed elements. The nodes are moved to it, not copied.
+     */
+    public SortedLinkedList<E> removeRange(E from, boolean fromInclusive, E to, boolean toInclusive) {
+        PooledLinkedList.Node<E> node = delegate.first();
+        while (node != null && !isAbove(node.item, from, fromInclusive)) {
+            node = node.next;
+        }
+        PooledLinkedList.Node<E> runStart = node;
+        PooledLinkedList.Node<E> runEnd = null;
+        int count = 0;
+        for (; node != null && isBelow(node.item, to, toInclusive); node = node.next) {
+            runEnd = node;
+            count++;
         }
+        return detach(runStart, runEnd, count);
+    }
+
+    private boolean isBelow(E element, E to, boolean inclusive) {
+        int result = comparator.compare(element, to);
+        return result < 0 || (inclusive && result == 0);
+    }
+
+    private boolean isAbove(E element, E from, boolean inclusive) {
+        int result = comparator.compare(element, from);
+        return result > 0 || (inclusive && result == 0);
+    }
+
+    /**
+     * Moves all nodes of higher to the end of this list. Nothing is copied or compared, so all elements of higher must
+     * be the same or after the last element of this list. Higher list is empty after the call.
+     */
+    void append(SortedLinkedList<E> higher) {
+        delegate.append(higher.delegate);
+    }
+
+    /**
+     * Moves the run of nodes into a new list.
+     */
+    private SortedLinkedList<E> detach(PooledLinkedList.Node<E> runStart, PooledLinkedList.Node<E> runEnd, int count) {
+        if (count == 0) {
+            return new SortedLinkedList<>(comparator);
+        }
+        return new SortedLinkedList<>(comparator, delegate.detach(runStart, runEnd, count));
+    }
+
+    /**
+     * Returns a new cursor over this list. Unlike {@link #iterator()}, a cursor can be rewound by
+     * {@link Cursor#reset()} and reused, so repeated iterations don't allocate.
+     */
+    public Cursor<E> cursor() {
+        return new Cursor<>(delegate);
     }
 
     @Override
@@ -308,4 +465,71 @@ public class SortedLinkedList<E> implements List<E> {
         delegate.forEach(action);
     }
 
+
+    /**
+     * Reusable iterator over {@link SortedLinkedList}. Call {@link #reset()} to iterate again from the first element.
+     * Fails fast like iterators of the list if the list is modified other than by {@link #remove()}.
+     *
+     * @param <E> type of elements
+     */
+    public static final class Cursor<E> implements Iterator<E> {
+
+        private final PooledLinkedList<E> list;
+
+        private PooledLinkedList.Node<E> next;
+
+        private PooledLinkedList.Node<E> lastReturned;
+
+        private int expectedModCount;
+
+        private Cursor(PooledLinkedList<E> list) {
+            this.list = list;
+            reset();
+        }
+
+        /**
+         * Moves the cursor before the first element of the list.
+         *
+         * @return this cursor
+         */
+        public Cursor<E> reset() {
+            next = list.first();
+            lastReturned = null;
+            expectedModCount = list.modCount();
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = next.next;
+            return lastReturned.item;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            list.unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = list.modCount();
+        }
+
+        private void checkForComodification() {
+            if (list.modCount() != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
 }
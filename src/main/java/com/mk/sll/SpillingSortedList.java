@@ -0,0 +1,587 @@
+package com.mk.sll;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sorted collection for data larger than the heap. New elements are put into an in-memory {@link SortedLinkedList}.
+ * When it reaches the memory budget, it is written to a temporary file as a sorted run and cleared. Iteration lazily
+ * merges the in-memory list with all runs by a {@link MergingIterator}. When there are too many runs, the smallest ones
+ * are merged into one by a background thread. A failed compaction is tried again after the next run is written.
+ * <p>
+ * The collection is not thread safe, only the compaction runs in the background. Iterators see the content at the
+ * time they were created: runs are never modified and the in-memory list, which is bounded by the memory budget, is
+ * copied when an iterator is created. Files opened by an iterator are closed when the iterator is exhausted or
+ * closed, when the stream is closed or when this collection is closed. Runs replaced by compaction are deleted when no
+ * iterator reads them, so iterators that aren't read to the end should be closed. Temporary files are deleted by
+ * {@link #close()}.
+ *
+ * @param <E> type of elements
+ */
+@SuppressWarnings("NullableProblems")
+public class SpillingSortedList<E> implements Iterable<E>, Closeable {
+
+    /**
+     * Number of runs that triggers the background compaction. The same number of the smallest runs is then merged.
+     */
+    static final int COMPACTION_THRESHOLD = 8;
+
+    private final Comparator<E> comparator;
+
+    private final ElementCodec<E> codec;
+
+    private final int memoryBudget;
+
+    /**
+     * Directory of temporary files. If null, the default temporary directory is used.
+     */
+    private final Path directory;
+
+    private final SortedLinkedList<E> buffer;
+
+    private final ExecutorService compactionExecutor;
+
+    /**
+     * Guards runs, openIterators, compacting and the reader counts of runs. It's shared with the compaction thread.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Runs on disk. The order decides the order of same elements from different runs.
+     */
+    private final List<Run> runs = new ArrayList<>();
+
+    private final Set<RunIterator> openIterators = new HashSet<>();
+
+    private boolean compacting;
+
+    /**
+     * Set when the background compaction fails, so it isn't retried until the next run is written.
+     */
+    private boolean compactionFailed;
+
+    /**
+     * Held during the whole compaction, so two compactions never merge the same runs.
+     */
+    private final Object compactionLock = new Object();
+
+    private boolean closed;
+
+    /**
+     * @param memoryBudget maximal number of elements kept in the heap.
+     * @param directory    directory of temporary files. If null, the default temporary directory is used.
+     */
+    public SpillingSortedList(Comparator<E> comparator, ElementCodec<E> codec, int memoryBudget, Path directory) {
+        if (memoryBudget < 1) {
+            throw new IllegalArgumentException("memoryBudget must be positive, was " + memoryBudget);
+        }
+        this.comparator = comparator;
+        this.codec = codec;
+        this.memoryBudget = memoryBudget;
+        this.directory = directory;
+        buffer = new SortedLinkedList<>(comparator);
+        compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sorted-list-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param memoryBudget maximal number of elements kept in the heap.
+     */
+    public SpillingSortedList(Comparator<E> comparator, ElementCodec<E> codec, int memoryBudget) {
+        this(comparator, codec, memoryBudget, null);
+    }
+
+    /**
+     * Puts a new element into the in-memory list. If the list reaches the memory budget, it's written to a run.
+     *
+     * @see SortedLinkedList#put(Object)
+     */
+    public boolean put(E newElement) {
+        checkNotClosed();
+        buffer.put(newElement);
+        if (buffer.size() >= memoryBudget) {
+            flush();
+        }
+        return true;
+    }
+
+    /**
+     * Puts a content of the newElements collection into the list. Elements are put in chunks that fit into the
+     * memory budget, so every run is written after its chunk is merged into the in-memory list.
+     *
+     * @param newElements may be null.
+     * @return true if this list changed as a result of the call.
+     * @see SortedLinkedList#putAll(Collection)
+     */
+    public boolean putAll(Collection<? extends E> newElements) {
+        checkNotClosed();
+        if (newElements == null || newElements.isEmpty()) {
+            return false;
+        }
+        List<E> chunk = new ArrayList<>();
+        for (E newElement : newElements) {
+            chunk.add(newElement);
+            if (buffer.size() + chunk.size() >= memoryBudget) {
+                buffer.putAll(chunk);
+                chunk.clear();
+                flush();
+            }
+        }
+        buffer.putAll(chunk);
+        return true;
+    }
+
+    /**
+     * Writes the in-memory list to a new run and clears it.
+     */
+    public void flush() {
+        checkNotClosed();
+        if (buffer.isEmpty()) {
+            return;
+        }
+        Run run = writeRun(buffer.iterator(), buffer.size());
+        buffer.clear();
+        synchronized (lock) {
+            runs.add(run);
+            compactionFailed = false;
+            scheduleCompactionIfNeeded();
+        }
+    }
+
+    /**
+     * Merges all runs into one. Runs in the calling thread.
+     */
+    public void compact() {
+        checkNotClosed();
+        synchronized (compactionLock) {
+            List<Run> selected;
+            synchronized (lock) {
+                selected = new ArrayList<>(runs);
+            }
+            if (selected.size() > 1) {
+                mergeRuns(selected);
+            }
+        }
+    }
+
+    private void compactInBackground() {
+        boolean failed = false;
+        try {
+            synchronized (compactionLock) {
+                List<Run> selected;
+                synchronized (lock) {
+                    selected = new ArrayList<>(runs);
+                }
+                selected.sort(Comparator.comparingLong(run -> run.size));
+                if (selected.size() > 1) {
+                    mergeRuns(selected.subList(0, Math.min(COMPACTION_THRESHOLD, selected.size())));
+                }
+            }
+        } catch (RuntimeException e) {
+            // runs stay unchanged, the compaction is tried again after the next flush instead of failing in a loop
+            failed = true;
+        } finally {
+            synchronized (lock) {
+                compacting = false;
+                compactionFailed = failed;
+                scheduleCompactionIfNeeded();
+            }
+        }
+    }
+
+    /**
+     * Starts the background compaction if there are too many runs and it isn't running. Must be called under lock.
+     */
+    private void scheduleCompactionIfNeeded() {
+        if (runs.size() >= COMPACTION_THRESHOLD && !compacting && !compactionFailed && !compactionExecutor.isShutdown()) {
+            compacting = true;
+            try {
+                compactionExecutor.execute(this::compactInBackground);
+            } catch (RejectedExecutionException e) {
+                // the list is being closed
+                compacting = false;
+            }
+        }
+    }
+
+    /**
+     * Waits until the background compaction has nothing to do.
+     */
+    void awaitCompaction() throws InterruptedException, ExecutionException {
+        while (true) {
+            // the executor has one thread, so this task runs after the scheduled compaction
+            compactionExecutor.submit(() -> {
+            }).get();
+            synchronized (lock) {
+                if (!compacting) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the selected runs into one run, which replaces them. Selected runs are deleted when the last iterator
+     * reading them is closed.
+     */
+    private void mergeRuns(List<Run> selected) {
+        long size = 0;
+        for (Run run : selected) {
+            size += run.size;
+        }
+        List<Iterator<E>> sources = new ArrayList<>();
+        try {
+            synchronized (lock) {
+                // keep the order of runs for same elements
+                List<Run> ordered = new ArrayList<>(runs);
+                ordered.retainAll(selected);
+                for (Run run : ordered) {
+                    sources.add(openRun(run));
+                }
+            }
+            Run merged = writeRun(new MergingIterator<>(comparator, sources), size);
+            synchronized (lock) {
+                if (closed) {
+                    delete(merged.file);
+                    return;
+                }
+                int position = runs.indexOf(selected.get(0));
+                for (Run run : selected) {
+                    position = Math.min(position, runs.indexOf(run));
+                }
+                runs.removeAll(selected);
+                runs.add(position, merged);
+                for (Run run : selected) {
+                    run.retired = true;
+                    deleteIfUnused(run);
+                }
+            }
+        } finally {
+            closeRuns(sources);
+        }
+    }
+
+    private Run writeRun(Iterator<E> elements, long size) {
+        Path file = null;
+        try {
+            file = directory == null ? Files.createTempFile("sorted-run-", ".bin")
+                    : Files.createTempFile(directory, "sorted-run-", ".bin");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                while (elements.hasNext()) {
+                    codec.write(out, elements.next());
+                }
+            }
+            return new Run(file, size);
+        } catch (IOException e) {
+            deleteIfCreated(file);
+            throw new UncheckedIOException("Sorted run couldn't be written.", e);
+        } catch (RuntimeException e) {
+            // the codec or the source of elements failed
+            deleteIfCreated(file);
+            throw e;
+        }
+    }
+
+    private static void deleteIfCreated(Path file) {
+        if (file != null) {
+            delete(file);
+        }
+    }
+
+    /**
+     * Opens an iterator over the run. Must be called under lock.
+     */
+    private RunIterator openRun(Run run) {
+        RunIterator iterator = new RunIterator(run);
+        openIterators.add(iterator);
+        run.readers++;
+        return iterator;
+    }
+
+    /**
+     * Must be called under lock.
+     */
+    private void deleteIfUnused(Run run) {
+        if (run.retired && run.readers == 0) {
+            delete(run.file);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Sorted run couldn't be deleted.", e);
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("The list is closed.");
+        }
+    }
+
+    /**
+     * Returns an iterator merging a copy of the in-memory list and all runs. An iterator that isn't read to the end
+     * should be closed, for example by try-with-resources.
+     */
+    @Override
+    public CloseableIterator<E> iterator() {
+        List<Iterator<E>> sources = openSources();
+        try {
+            // the first element of every run is read here
+            return new CloseableIterator<>(comparator, sources, () -> closeRuns(sources));
+        } catch (RuntimeException e) {
+            closeRuns(sources);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a sorted stream of all elements. Closing the stream closes files opened by it.
+     */
+    public Stream<E> stream() {
+        return stream(iterator());
+    }
+
+    /**
+     * Returns a sorted stream of elements from from (inclusive) to to (exclusive). Runs have no index, so every
+     * element before from is read and decoded, it's only skipped by {@link MergingIterator#skipTo(Object)} when the
+     * terminal operation starts. Reading stops at to. Closing the stream closes files opened by it, also when the skip
+     * fails.
+     */
+    public Stream<E> range(E from, E to) {
+        CloseableIterator<E> iterator = iterator();
+        return stream(iterator, () -> iterator.skipTo(from)).takeWhile(element -> comparator.compare(element, to) < 0);
+    }
+
+    private Stream<E> stream(CloseableIterator<E> iterator) {
+        return stream(iterator, () -> {
+        });
+    }
+
+    /**
+     * @param beforeFirst runs when the terminal operation starts.
+     */
+    private Stream<E> stream(CloseableIterator<E> iterator, Runnable beforeFirst) {
+        return StreamSupport.stream(() -> {
+                    beforeFirst.run();
+                    return Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+                }, Spliterator.ORDERED, false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Opens all runs and the in-memory list.
+     */
+    private List<Iterator<E>> openSources() {
+        checkNotClosed();
+        List<Iterator<E>> sources = new ArrayList<>();
+        synchronized (lock) {
+            try {
+                for (Run run : runs) {
+                    sources.add(openRun(run));
+                }
+            } catch (UncheckedIOException e) {
+                closeRuns(sources);
+                throw e;
+            }
+        }
+        // the buffer is cleared by flush, so a live iterator would silently lose its elements
+        sources.add(new ArrayList<>(buffer).iterator());
+        return sources;
+    }
+
+    /**
+     * Closes sources that read runs. Other sources don't need closing.
+     */
+    private void closeRuns(List<Iterator<E>> sources) {
+        for (Iterator<E> source : sources) {
+            if (source instanceof SpillingSortedList<?>.RunIterator runIterator) {
+                runIterator.close();
+            }
+        }
+    }
+
+    /**
+     * @return number of elements in the heap and in all runs.
+     */
+    public long size() {
+        long size = buffer.size();
+        synchronized (lock) {
+            for (Run run : runs) {
+                size += run.size;
+            }
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return number of runs on disk.
+     */
+    int runCount() {
+        synchronized (lock) {
+            return runs.size();
+        }
+    }
+
+    /**
+     * Waits for the background compaction, closes all files and deletes all runs.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        compactionExecutor.shutdown();
+        try {
+            compactionExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            closed = true;
+            for (RunIterator iterator : new ArrayList<>(openIterators)) {
+                iterator.close();
+            }
+            for (Run run : runs) {
+                run.retired = true;
+                deleteIfUnused(run);
+            }
+            runs.clear();
+        }
+        buffer.clear();
+    }
+
+
+    /**
+     * Iterator over {@link SpillingSortedList} that holds open files of runs until it's exhausted or closed.
+     *
+     * @param <E> type of elements
+     */
+    public static final class CloseableIterator<E> extends MergingIterator<E> implements Closeable {
+
+        private final Runnable closeAction;
+
+        private CloseableIterator(Comparator<E> comparator, List<? extends Iterator<? extends E>> sources, Runnable closeAction) {
+            super(comparator, sources);
+            this.closeAction = closeAction;
+        }
+
+        /**
+         * Closes files of runs that weren't read to the end.
+         */
+        @Override
+        public void close() {
+            closeAction.run();
+        }
+    }
+
+
+    /**
+     * Sorted run written to a file.
+     */
+    private static final class Run {
+
+        private final Path file;
+
+        private final long size;
+
+        /**
+         * Number of open iterators. Guarded by lock.
+         */
+        private int readers;
+
+        /**
+         * True if the run was replaced by compaction and can be deleted when it's not read. Guarded by lock.
+         */
+        private boolean retired;
+
+        private Run(Path file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+    }
+
+
+    /**
+     * Reads elements of a run. Closes itself after the last element.
+     */
+    private final class RunIterator implements Iterator<E>, Closeable {
+
+        private final Run run;
+
+        private final DataInputStream in;
+
+        private long remaining;
+
+        private boolean iteratorClosed;
+
+        private RunIterator(Run run) {
+            this.run = run;
+            remaining = run.size;
+            try {
+                in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Sorted run couldn't be opened.", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0 && !iteratorClosed;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                E element = codec.read(in);
+                remaining--;
+                if (remaining == 0) {
+                    close();
+                }
+                return element;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Sorted run couldn't be read.", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (lock) {
+                if (iteratorClosed) {
+                    return;
+                }
+                iteratorClosed = true;
+                openIterators.remove(this);
+                run.readers--;
+                deleteIfUnused(run);
+            }
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Sorted run couldn't be closed.", e);
+            }
+        }
+    }
+}
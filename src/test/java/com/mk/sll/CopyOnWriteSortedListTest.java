@@ -0,0 +1,203 @@
+package com.mk.sll;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+public class CopyOnWriteSortedListTest {
+
+    private static final Comparator<String> STRING_COMPARATOR_DEFAULT = Comparator.comparing((String x) -> x);
+
+    private CopyOnWriteSortedList<String> tested;
+
+    @Before
+    public void setUp() {
+        tested = new CopyOnWriteSortedList<>(STRING_COMPARATOR_DEFAULT);
+    }
+
+    @Test
+    public void constructorUsingCollectionSorts() {
+        List<String> originalCollection = List.of("C", "A", "B");
+        tested = new CopyOnWriteSortedList<>(STRING_COMPARATOR_DEFAULT, originalCollection);
+        assertThat(tested).containsExactly("A", "B", "C");
+        assertThat(originalCollection).containsExactly("C", "A", "B");
+    }
+
+    @Test
+    public void put_moreElementsInReverseOrder() {
+        tested.put("C");
+        tested.put("B");
+        tested.put("A");
+        assertThat(tested).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    public void put_moreSameElements() {
+        tested.put("C");
+        tested.put("B");
+        tested.put("B");
+        assertThat(tested).containsExactly("B", "B", "C");
+    }
+
+    @Test
+    public void put_nullComparatorDoesntSupportNulls() {
+        assertThatThrownBy(() -> tested.put(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void putAll_mergesIntoExistingList() {
+        tested.putAll(List.of("E", "A", "C"));
+        boolean result = tested.putAll(List.of("D", "F", "B", "A"));
+        assertThat(result).isTrue();
+        assertThat(tested).containsExactly("A", "A", "B", "C", "D", "E", "F");
+    }
+
+    @Test
+    public void putAll_nullInput() {
+        boolean result = tested.putAll(null);
+        assertThat(result).isFalse();
+        assertThat(tested).isEmpty();
+    }
+
+    @Test
+    public void get() {
+        tested.putAll(List.of("B", "A"));
+        assertThat(tested.get(1)).isEqualTo("B");
+        assertThatThrownBy(() -> tested.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void contains() {
+        tested.putAll(List.of("C", "A", "B"));
+        assertThat(tested.contains("B")).isTrue();
+        assertThat(tested.contains("D")).isFalse();
+        assertThat(tested.contains(1)).isFalse();
+        assertThat(tested.contains(null)).isFalse();
+    }
+
+    @Test
+    public void contains_comparatorInconsistentWithEquals() {
+        CopyOnWriteSortedList<String> ignoringCase = new CopyOnWriteSortedList<>(String.CASE_INSENSITIVE_ORDER);
+        ignoringCase.putAll(List.of("a", "B", "b", "c"));
+
+        assertThat(ignoringCase.contains("b")).isTrue();
+        assertThat(ignoringCase.contains("C")).isFalse();
+        assertThat(ignoringCase.indexOf("B")).isEqualTo(ignoringCase.lastIndexOf("B"));
+    }
+
+    @Test
+    public void indexOf() {
+        tested.putAll(List.of("A", "B", "B", "C"));
+        assertThat(tested.indexOf("B")).isEqualTo(1);
+        assertThat(tested.lastIndexOf("B")).isEqualTo(2);
+        assertThat(tested.indexOf("D")).isEqualTo(-1);
+    }
+
+    @Test
+    public void remove_object() {
+        tested.putAll(List.of("A", "B", "C"));
+        assertThat(tested.remove("B")).isTrue();
+        assertThat(tested.remove("D")).isFalse();
+        assertThat(tested).containsExactly("A", "C");
+    }
+
+    @Test
+    public void remove_atPosition() {
+        tested.putAll(List.of("A", "B", "C"));
+        assertThat(tested.remove(0)).isEqualTo("A");
+        assertThat(tested).containsExactly("B", "C");
+    }
+
+    @Test
+    public void removeIf() {
+        tested.putAll(List.of("A", "B", "C"));
+        tested.removeIf(element -> !element.equals("B"));
+        assertThat(tested).containsExactly("B");
+    }
+
+    @Test
+    public void replaceAll() {
+        tested.putAll(List.of("A", "B"));
+        tested.replaceAll(element -> element.equals("A") ? "X" : element);
+        assertThat(tested).containsExactly("B", "X");
+    }
+
+    @Test
+    public void clear() {
+        tested.putAll(List.of("A", "B"));
+        tested.clear();
+        assertThat(tested).isEmpty();
+    }
+
+    @Test
+    public void iterator_isSnapshot() {
+        tested.putAll(List.of("B", "C"));
+        Iterator<String> iterator = tested.iterator();
+
+        tested.put("A");
+        tested.remove("C");
+
+        assertThat(iterator).toIterable().containsExactly("B", "C");
+        assertThat(tested).containsExactly("A", "B");
+    }
+
+    @Test
+    public void iterator_removeUnsupported() {
+        tested.put("A");
+        Iterator<String> iterator = tested.iterator();
+        iterator.next();
+        assertThatThrownBy(iterator::remove).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void put_concurrentWriters() throws Exception {
+        CopyOnWriteSortedList<Integer> testedInteger = new CopyOnWriteSortedList<>(Comparator.comparing((Integer x) -> x));
+        List<Integer> expected = new ArrayList<>(IntStream.range(0, 400).boxed().toList());
+        List<Integer> shuffled = new ArrayList<>(expected);
+        Collections.shuffle(shuffled);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                List<Integer> part = shuffled.subList(thread * 100, (thread + 1) * 100);
+                futures.add(executor.submit(() -> part.forEach(testedInteger::put)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(testedInteger).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void add_unsupported() {
+        assertThatThrownBy(() -> tested.add("A")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void set_unsupported() {
+        assertThatThrownBy(() -> tested.set(0, "A")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void sort_unsupported() {
+        assertThatThrownBy(() -> tested.sort(STRING_COMPARATOR_DEFAULT)).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,177 @@
+package com.mk.sll;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+public class PooledLinkedListTest {
+
+    private static final int POOL_CAPACITY = 2;
+
+    private PooledLinkedList<String> tested;
+
+    @Before
+    public void setUp() {
+        tested = new PooledLinkedList<>(POOL_CAPACITY);
+    }
+
+    @Test
+    public void linkBefore() {
+        tested.linkBefore("C", null);
+        tested.linkBefore("A", tested.first());
+        tested.linkBefore("B", tested.last());
+        assertThat(tested).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    public void unlink_returnsNodeToPool() {
+        tested.addAll(List.of("A", "B", "C", "D"));
+
+        tested.unlink(tested.first());
+        tested.unlink(tested.last());
+        tested.unlink(tested.first());
+
+        assertThat(tested).containsExactly("C");
+        assertThat(tested.poolSize()).isEqualTo(POOL_CAPACITY);
+    }
+
+    @Test
+    public void add_reusesPooledNodes() {
+        tested.addAll(List.of("A", "B"));
+        PooledLinkedList.Node<String> removed = tested.first();
+        tested.remove(0);
+
+        tested.add("C");
+
+        assertThat(tested.last()).isSameAs(removed);
+        assertThat(tested.poolSize()).isEqualTo(0);
+        assertThat(tested).containsExactly("B", "C");
+    }
+
+    @Test
+    public void clear_fillsPoolUpToCapacity() {
+        tested.addAll(List.of("A", "B", "C"));
+        tested.clear();
+        assertThat(tested).isEmpty();
+        assertThat(tested.poolSize()).isEqualTo(POOL_CAPACITY);
+    }
+
+    @Test
+    public void detach() {
+        tested.addAll(List.of("A", "B", "C", "D"));
+
+        PooledLinkedList<String> result = tested.detach(tested.node(1), tested.node(2), 2);
+
+        assertThat(result).containsExactly("B", "C");
+        assertThat(tested).containsExactly("A", "D");
+        assertThat(tested.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void detach_wholeList() {
+        tested.addAll(List.of("A", "B"));
+
+        PooledLinkedList<String> result = tested.detach(tested.first(), tested.last(), 2);
+
+        assertThat(result).containsExactly("A", "B");
+        assertThat(tested).isEmpty();
+        assertThat(tested.first()).isNull();
+        assertThat(tested.last()).isNull();
+    }
+
+    @Test
+    public void append() {
+        tested.addAll(List.of("A", "B"));
+        PooledLinkedList<String> other = new PooledLinkedList<>(0);
+        other.addAll(List.of("C", "D"));
+
+        tested.append(other);
+
+        assertThat(tested).containsExactly("A", "B", "C", "D");
+        assertThat(tested.size()).isEqualTo(4);
+        assertThat(tested.last().item).isEqualTo("D");
+        assertThat(other).isEmpty();
+        assertThat(other.first()).isNull();
+    }
+
+    @Test
+    public void append_toEmptyList() {
+        PooledLinkedList<String> other = new PooledLinkedList<>(0);
+        other.addAll(List.of("A", "B"));
+
+        tested.append(other);
+        tested.add("C");
+
+        assertThat(tested).containsExactly("A", "B", "C");
+        assertThat(tested.first().item).isEqualTo("A");
+    }
+
+    @Test
+    public void get() {
+        tested.addAll(List.of("A", "B", "C", "D"));
+        assertThat(tested.get(1)).isEqualTo("B");
+        assertThat(tested.get(3)).isEqualTo("D");
+        assertThatThrownBy(() -> tested.get(4)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void indexOf() {
+        tested.addAll(List.of("A", "B", "B"));
+        assertThat(tested.indexOf("B")).isEqualTo(1);
+        assertThat(tested.lastIndexOf("B")).isEqualTo(2);
+        assertThat(tested.indexOf("C")).isEqualTo(-1);
+    }
+
+    @Test
+    public void removeIf() {
+        tested.addAll(List.of("A", "B", "C"));
+        tested.removeIf(element -> !element.equals("B"));
+        assertThat(tested).containsExactly("B");
+    }
+
+    @Test
+    public void listIterator_removeAfterPrevious() {
+        tested.addAll(List.of("A", "B", "C"));
+        ListIterator<String> iterator = tested.listIterator(2);
+
+        assertThat(iterator.previous()).isEqualTo("B");
+        iterator.remove();
+
+        assertThat(iterator.next()).isEqualTo("C");
+        assertThat(tested).containsExactly("A", "C");
+    }
+
+    @Test
+    public void listIterator_addAndSet() {
+        tested.addAll(List.of("A", "C"));
+        ListIterator<String> iterator = tested.listIterator();
+
+        iterator.next();
+        iterator.add("B");
+        iterator.next();
+        iterator.set("D");
+
+        assertThat(tested).containsExactly("A", "B", "D");
+    }
+
+    @Test
+    public void listIterator_failsFastAfterModification() {
+        tested.addAll(List.of("A", "B"));
+        ListIterator<String> iterator = tested.listIterator();
+        tested.add("C");
+        assertThatThrownBy(iterator::next).isInstanceOf(ConcurrentModificationException.class);
+    }
+
+    @Test
+    public void subList() {
+        tested.addAll(List.of("A", "B", "C"));
+        assertThat(tested.subList(1, 3)).containsExactly("B", "C");
+    }
+}
@@ -0,0 +1,261 @@
+package com.mk.sll;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+public class ShardedSortedListTest {
+
+    private static final Comparator<Integer> INTEGER_COMPARATOR_DEFAULT = Comparator.comparing((Integer x) -> x);
+
+    private static final int MAX_SHARD_SIZE = 4;
+
+    private ShardedSortedList<Integer> tested;
+
+    @Before
+    public void setUp() {
+        tested = new ShardedSortedList<>(INTEGER_COMPARATOR_DEFAULT, MAX_SHARD_SIZE);
+    }
+
+    @Test
+    public void put_moreElementsInReverseOrder() {
+        tested.put(3);
+        tested.put(2);
+        tested.put(1);
+        assertThat(tested).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void put_splitsShards() {
+        for (int i = 10; i > 0; i--) {
+            tested.put(i);
+        }
+        assertThat(tested).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(tested.shardCount()).isGreaterThan(1);
+    }
+
+    @Test
+    public void put_sameElementsStayInOneShard() {
+        for (int i = 0; i < 10; i++) {
+            tested.put(1);
+        }
+        tested.put(0);
+        tested.put(2);
+        assertThat(tested).containsExactly(0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 2);
+    }
+
+    @Test
+    public void put_sameElementsDontRebalance() {
+        for (int i = 0; i < 10; i++) {
+            tested.put(1);
+        }
+        int rebalanceCount = tested.rebalanceCount();
+
+        for (int i = 0; i < 10; i++) {
+            tested.put(1);
+        }
+
+        assertThat(tested.rebalanceCount()).isEqualTo(rebalanceCount);
+        assertThat(tested.shardCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void putAll_spreadsElementsAcrossShards() {
+        tested.putAll(List.of(9, 1, 5, 3, 7));
+        tested.putAll(List.of(8, 2, 6, 4, 0));
+        assertThat(tested).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void putAll_batchSkippingShards() {
+        tested.putAll(IntStream.range(0, 20).map(i -> i * 2).boxed().toList());
+        assertThat(tested.shardCount()).isGreaterThan(2);
+
+        tested.putAll(List.of(1, 39));
+
+        List<Integer> expected = new ArrayList<>(IntStream.range(0, 20).map(i -> i * 2).boxed().toList());
+        expected.add(1);
+        expected.add(39);
+        Collections.sort(expected);
+        assertThat(tested).containsExactlyElementsOf(expected);
+        assertThat(tested.contains(39)).isTrue();
+        assertThat(tested.indexOf(39)).isEqualTo(21);
+    }
+
+    @Test
+    public void putAll_randomBatchesKeepListSorted() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        for (int batch = 0; batch < 50; batch++) {
+            List<Integer> newElements = new ArrayList<>();
+            for (int i = random.nextInt(5); i >= 0; i--) {
+                newElements.add(random.nextInt(100));
+            }
+            tested.putAll(newElements);
+            expected.addAll(newElements);
+        }
+        Collections.sort(expected);
+        assertThat(tested).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void putAll_nullInput() {
+        boolean result = tested.putAll(null);
+        assertThat(result).isFalse();
+        assertThat(tested).isEmpty();
+    }
+
+    @Test
+    public void get_acrossShards() {
+        tested.putAll(List.of(5, 4, 3, 2, 1, 0, 6, 7, 8, 9));
+        for (int i = 0; i < 10; i++) {
+            assertThat(tested.get(i)).isEqualTo(i);
+        }
+        assertThatThrownBy(() -> tested.get(10)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void size() {
+        tested.putAll(List.of(5, 4, 3, 2, 1, 0, 6, 7, 8, 9));
+        assertThat(tested.size()).isEqualTo(10);
+    }
+
+    @Test
+    public void indexOf() {
+        tested.putAll(List.of(5, 4, 3, 2, 1, 0, 6, 7, 8, 9, 9));
+        assertThat(tested.indexOf(7)).isEqualTo(7);
+        assertThat(tested.lastIndexOf(9)).isEqualTo(10);
+        assertThat(tested.indexOf(11)).isEqualTo(-1);
+        assertThat(tested.indexOf("A")).isEqualTo(-1);
+    }
+
+    @Test
+    public void remove_mergesShards() {
+        tested.putAll(IntStream.range(0, 20).boxed().toList());
+        int shardCount = tested.shardCount();
+
+        for (int i = 0; i < 18; i++) {
+            assertThat(tested.remove(Integer.valueOf(i))).isTrue();
+        }
+
+        assertThat(tested).containsExactly(18, 19);
+        assertThat(tested.shardCount()).isLessThanOrEqualTo(shardCount / 2);
+    }
+
+    @Test
+    public void remove_atPosition() {
+        tested.putAll(List.of(1, 2, 3, 4, 5, 6));
+        assertThat(tested.remove(4)).isEqualTo(5);
+        assertThat(tested).containsExactly(1, 2, 3, 4, 6);
+    }
+
+    @Test
+    public void removeIf() {
+        tested.putAll(IntStream.range(0, 10).boxed().toList());
+        tested.removeIf(element -> element % 2 == 0);
+        assertThat(tested).containsExactly(1, 3, 5, 7, 9);
+    }
+
+    @Test
+    public void replaceAll() {
+        tested.putAll(IntStream.range(0, 10).boxed().toList());
+        tested.replaceAll(element -> 9 - element);
+        assertThat(tested).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(tested.shardCount()).isGreaterThan(1);
+    }
+
+    @Test
+    public void clear() {
+        tested.putAll(IntStream.range(0, 10).boxed().toList());
+        tested.clear();
+        assertThat(tested).isEmpty();
+        assertThat(tested.shardCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void iterator_isSnapshot() {
+        tested.putAll(List.of(1, 2));
+        var iterator = tested.iterator();
+        tested.put(0);
+        assertThat(iterator).toIterable().containsExactly(1, 2);
+    }
+
+    @Test
+    public void put_concurrentWriters() throws Exception {
+        tested = new ShardedSortedList<>(INTEGER_COMPARATOR_DEFAULT, 64);
+        List<Integer> expected = new ArrayList<>(IntStream.range(0, 4000).boxed().toList());
+        List<Integer> shuffled = new ArrayList<>(expected);
+        Collections.shuffle(shuffled);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                List<Integer> part = shuffled.subList(thread * 1000, (thread + 1) * 1000);
+                futures.add(executor.submit(() -> part.forEach(tested::put)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(tested).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void putAndRemove_concurrentWithRebalancing() throws Exception {
+        List<Integer> expected = new ArrayList<>(IntStream.range(0, 4000).boxed().toList());
+        List<Integer> shuffled = new ArrayList<>(expected);
+        Collections.shuffle(shuffled, new Random(42));
+        tested.putAll(IntStream.range(4000, 5000).boxed().toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 3; thread++) {
+                List<Integer> part = shuffled.subList(thread * 1000, (thread + 1) * 1000);
+                futures.add(executor.submit(() -> part.forEach(tested::put)));
+            }
+            futures.add(executor.submit(() -> tested.putAll(shuffled.subList(3000, 4000))));
+            futures.add(executor.submit(() -> IntStream.range(4000, 5000).forEach(i -> tested.remove(Integer.valueOf(i)))));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(tested).containsExactlyElementsOf(expected);
+        assertThat(tested.size()).isEqualTo(4000);
+    }
+
+    @Test
+    public void add_unsupported() {
+        assertThatThrownBy(() -> tested.add(1)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void set_unsupported() {
+        assertThatThrownBy(() -> tested.set(0, 1)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void sort_unsupported() {
+        assertThatThrownBy(() -> tested.sort(INTEGER_COMPARATOR_DEFAULT)).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
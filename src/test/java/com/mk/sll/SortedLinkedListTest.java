@@ -5,8 +5,11 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -229,6 +232,162 @@ public class SortedLinkedListTest {
     }
 
 
+    @Test
+    public void put_elementAfterAllElements() {
+        tested.put("A");
+        tested.put("B");
+        tested.put("B");
+        tested.put("C");
+        assertThat(tested).containsExactly("A", "B", "B", "C");
+    }
+
+    @Test
+    public void put_withNodePool() {
+        tested = new SortedLinkedList<>(STRING_COMPARATOR_DEFAULT, 2);
+        tested.putAll(List.of("C", "A", "B"));
+        tested.remove("A");
+        tested.remove("C");
+        tested.put("D");
+        tested.put("A");
+        tested.put("E");
+        assertThat(tested).containsExactly("A", "B", "D", "E");
+    }
+
+    @Test
+    public void cursor_canBeReused() {
+        tested.putAll(List.of("B", "A"));
+        SortedLinkedList.Cursor<String> cursor = tested.cursor();
+
+        assertThat(cursor).toIterable().containsExactly("A", "B");
+        assertThat(cursor.hasNext()).isFalse();
+        assertThat(cursor.reset()).toIterable().containsExactly("A", "B");
+    }
+
+    @Test
+    public void cursor_remove() {
+        tested.putAll(List.of("A", "B", "C"));
+        SortedLinkedList.Cursor<String> cursor = tested.cursor();
+        cursor.next();
+        cursor.next();
+        cursor.remove();
+        assertThat(cursor.next()).isEqualTo("C");
+        assertThat(tested).containsExactly("A", "C");
+    }
+
+    @Test
+    public void cursor_failsFastAfterModification() {
+        tested.putAll(List.of("A", "B"));
+        SortedLinkedList.Cursor<String> cursor = tested.cursor();
+        tested.put("C");
+        assertThatThrownBy(cursor::next).isInstanceOf(ConcurrentModificationException.class);
+        assertThat(cursor.reset().next()).isEqualTo("A");
+    }
+
+
+    @Test
+    public void removeBelow() {
+        tested.putAll(List.of("A", "B", "B", "C"));
+
+        SortedLinkedList<String> result = tested.removeBelow("B");
+
+        assertThat(result).containsExactly("A");
+        assertThat(tested).containsExactly("B", "B", "C");
+    }
+
+    @Test
+    public void removeBelow_inclusive() {
+        tested.putAll(List.of("A", "B", "B", "C"));
+
+        SortedLinkedList<String> result = tested.removeBelow("B", true);
+
+        assertThat(result).containsExactly("A", "B", "B");
+        assertThat(tested).containsExactly("C");
+    }
+
+    @Test
+    public void removeBelow_nothingToRemove() {
+        tested.putAll(List.of("B", "C"));
+
+        SortedLinkedList<String> result = tested.removeBelow("A");
+
+        assertThat(result).isEmpty();
+        assertThat(tested).containsExactly("B", "C");
+    }
+
+    @Test
+    public void removeBelow_everything() {
+        tested.putAll(List.of("A", "B"));
+
+        SortedLinkedList<String> result = tested.removeBelow("X");
+
+        assertThat(result).containsExactly("A", "B");
+        assertThat(tested).isEmpty();
+        tested.put("C");
+        assertThat(tested).containsExactly("C");
+    }
+
+    @Test
+    public void removeAbove() {
+        tested.putAll(List.of("A", "B", "B", "C"));
+
+        SortedLinkedList<String> result = tested.removeAbove("B");
+
+        assertThat(result).containsExactly("C");
+        assertThat(tested).containsExactly("A", "B", "B");
+    }
+
+    @Test
+    public void removeAbove_inclusive() {
+        tested.putAll(List.of("A", "B", "B", "C"));
+
+        SortedLinkedList<String> result = tested.removeAbove("B", true);
+
+        assertThat(result).containsExactly("B", "B", "C");
+        assertThat(tested).containsExactly("A");
+    }
+
+    @Test
+    public void removeRange() {
+        tested.putAll(List.of("A", "B", "C", "D", "E"));
+
+        SortedLinkedList<String> result = tested.removeRange("B", "D");
+
+        assertThat(result).containsExactly("B", "C");
+        assertThat(tested).containsExactly("A", "D", "E");
+    }
+
+    @Test
+    public void removeRange_inclusiveBounds() {
+        tested.putAll(List.of("A", "B", "C", "D", "E"));
+
+        SortedLinkedList<String> result = tested.removeRange("B", false, "D", true);
+
+        assertThat(result).containsExactly("C", "D");
+        assertThat(tested).containsExactly("A", "B", "E");
+    }
+
+    @Test
+    public void removeRange_emptyRange() {
+        tested.putAll(List.of("A", "B", "C"));
+
+        SortedLinkedList<String> result = tested.removeRange("C", "A");
+
+        assertThat(result).isEmpty();
+        assertThat(tested).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    public void removeRange_removedListIsSorted() {
+        tested.putAll(List.of("A", "C", "E"));
+
+        SortedLinkedList<String> result = tested.removeRange("B", "X");
+        result.put("D");
+
+        assertThat(result).containsExactly("C", "D", "E");
+        assertThat(tested).containsExactly("A");
+    }
+
+
     // Integers
 
     @Test
@@ -249,6 +408,87 @@ public class SortedLinkedListTest {
     }
 
 
+    @Test
+    public void mergedView_mergesListsInOrder() {
+        SortedLinkedList<Integer> first = new SortedLinkedList<>(INTEGER_COMPARATOR_DEFAULT, List.of(1, 4, 7));
+        SortedLinkedList<Integer> second = new SortedLinkedList<>(INTEGER_COMPARATOR_DEFAULT, List.of(2, 5));
+        SortedLinkedList<Integer> third = new SortedLinkedList<>(INTEGER_COMPARATOR_DEFAULT);
+
+        MergedView<Integer> result = SortedLinkedList.mergedView(INTEGER_COMPARATOR_DEFAULT, List.of(first, second, third));
+
+        assertThat(result).containsExactly(1, 2, 4, 5, 7);
+        assertThat(result.size()).isEqualTo(5L);
+    }
+
+    @Test
+    public void mergedView_isLazy() {
+        SortedLinkedList<Integer> first = new SortedLinkedList<>(INTEGER_COMPARATOR_DEFAULT, List.of(1, 3));
+        MergedView<Integer> result = SortedLinkedList.mergedView(INTEGER_COMPARATOR_DEFAULT, List.of(first));
+
+        first.put(2);
+
+        assertThat(result).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void mergedView_streamSupportsEarlyTermination() {
+        SortedLinkedList<Integer> first = new SortedLinkedList<>(INTEGER_COMPARATOR_DEFAULT, List.of(5, 1, 9));
+        SortedLinkedList<Integer> second = new SortedLinkedList<>(INTEGER_COMPARATOR_DEFAULT, List.of(2, 8));
+
+        List<Integer> result = SortedLinkedList.mergedView(INTEGER_COMPARATOR_DEFAULT, List.of(first, second))
+                .stream()
+                .limit(3)
+                .toList();
+
+        assertThat(result).containsExactly(1, 2, 5);
+    }
+
+    @Test
+    public void mergedView_streamReadsListsOnTerminalOperation() {
+        SortedLinkedList<Integer> first = new SortedLinkedList<>(INTEGER_COMPARATOR_DEFAULT, List.of(1, 3));
+        Stream<Integer> stream = SortedLinkedList.mergedView(INTEGER_COMPARATOR_DEFAULT, List.of(first)).stream();
+
+        first.put(2);
+
+        assertThat(stream.toList()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void mergedView_spliteratorIsSorted() {
+        Comparator<String> ignoringCase = String.CASE_INSENSITIVE_ORDER;
+        SortedLinkedList<String> first = new SortedLinkedList<>(ignoringCase, List.of("b", "A"));
+        Spliterator<String> result = SortedLinkedList.mergedView(ignoringCase, List.of(first)).spliterator();
+
+        assertThat(result.hasCharacteristics(Spliterator.SORTED)).isTrue();
+        assertThat(result.getComparator()).isSameAs(ignoringCase);
+        assertThat(result.estimateSize()).isEqualTo(2L);
+    }
+
+    @Test
+    public void mergedView_equalElementsKeepOrderOfLists() {
+        Comparator<String> ignoringCase = String.CASE_INSENSITIVE_ORDER;
+        SortedLinkedList<String> first = new SortedLinkedList<>(ignoringCase, List.of("b", "a"));
+        SortedLinkedList<String> second = new SortedLinkedList<>(ignoringCase, List.of("A", "B"));
+
+        MergedView<String> result = SortedLinkedList.mergedView(ignoringCase, List.of(second, first));
+
+        assertThat(result).containsExactly("A", "a", "B", "b");
+    }
+
+    @Test
+    public void mergedView_skipTo() {
+        SortedLinkedList<Integer> first = new SortedLinkedList<>(INTEGER_COMPARATOR_DEFAULT, List.of(1, 4, 7));
+        SortedLinkedList<Integer> second = new SortedLinkedList<>(INTEGER_COMPARATOR_DEFAULT, List.of(2, 5, 8));
+        MergingIterator<Integer> iterator = SortedLinkedList.mergedView(INTEGER_COMPARATOR_DEFAULT, List.of(first, second))
+                .iterator();
+
+        assertThat(iterator.skipTo(5)).isTrue();
+        assertThat(iterator.peek()).isEqualTo(5);
+        assertThat(iterator).toIterable().containsExactly(5, 7, 8);
+        assertThat(iterator.skipTo(9)).isFalse();
+    }
+
+
     //tests for unsupported methods
 
     @Test
@@ -0,0 +1,259 @@
+package com.mk.sll;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+public class SpillingSortedListTest {
+
+    private static final Comparator<Integer> INTEGER_COMPARATOR_DEFAULT = Comparator.comparing((Integer x) -> x);
+
+    private static final ElementCodec<Integer> INTEGER_CODEC = new ElementCodec<>() {
+        @Override
+        public void write(DataOutput out, Integer element) throws IOException {
+            out.writeInt(element);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    private static final int MEMORY_BUDGET = 3;
+
+    private final FailingCodec failingCodec = new FailingCodec();
+
+    private Path directory;
+
+    private SpillingSortedList<Integer> tested;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("spilling-sorted-list-test");
+        tested = new SpillingSortedList<>(INTEGER_COMPARATOR_DEFAULT, INTEGER_CODEC, MEMORY_BUDGET, directory);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        tested.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(0L);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void put_inMemory() {
+        tested.put(2);
+        tested.put(1);
+        assertThat(tested).containsExactly(1, 2);
+        assertThat(tested.runCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void put_spillsWhenBudgetIsReached() {
+        tested.put(5);
+        tested.put(1);
+        tested.put(3);
+        tested.put(2);
+
+        assertThat(tested.runCount()).isEqualTo(1);
+        assertThat(tested).containsExactly(1, 2, 3, 5);
+        assertThat(tested.size()).isEqualTo(4L);
+    }
+
+    @Test
+    public void putAll_spillsInChunks() {
+        tested.putAll(List.of(9, 8, 7, 6, 5, 4, 3));
+
+        assertThat(tested.runCount()).isEqualTo(2);
+        assertThat(tested).containsExactly(3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void putAll_nullInput() {
+        boolean result = tested.putAll(null);
+        assertThat(result).isFalse();
+        assertThat(tested.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void iterator_isNotAffectedByFlush() {
+        tested.put(1);
+        tested.put(2);
+        Iterator<Integer> iterator = tested.iterator();
+
+        tested.put(3);
+
+        assertThat(tested.runCount()).isEqualTo(1);
+        assertThat(iterator).toIterable().containsExactly(1, 2);
+    }
+
+    @Test
+    public void range() {
+        tested.putAll(List.of(9, 1, 8, 2, 7, 3, 6, 4, 5));
+
+        try (Stream<Integer> result = tested.range(3, 7)) {
+            assertThat(result.collect(Collectors.toList())).containsExactly(3, 4, 5, 6);
+        }
+    }
+
+    @Test
+    public void range_failedReadIsClosedWithStream() throws IOException {
+        tested.close();
+        tested = new SpillingSortedList<>(INTEGER_COMPARATOR_DEFAULT, failingCodec, MEMORY_BUDGET, directory);
+        tested.putAll(List.of(4, 3, 2, 1, 0, 5));
+        Stream<Integer> result = tested.range(3, 5);
+
+        failingCodec.failing = true;
+        assertThatThrownBy(() -> {
+            try (result) {
+                result.collect(Collectors.toList());
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        failingCodec.failing = false;
+        tested.compact();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo((long) tested.runCount());
+        }
+    }
+
+    @Test
+    public void stream_earlyTermination() {
+        tested.putAll(List.of(9, 1, 8, 2, 7, 3, 6, 4, 5));
+
+        try (Stream<Integer> result = tested.stream()) {
+            assertThat(result.limit(2).collect(Collectors.toList())).containsExactly(1, 2);
+        }
+    }
+
+    @Test
+    public void compact_mergesAllRuns() {
+        tested.putAll(List.of(9, 1, 8, 2, 7, 3, 6, 4, 5, 0));
+        assertThat(tested.runCount()).isEqualTo(3);
+
+        tested.compact();
+
+        assertThat(tested.runCount()).isEqualTo(1);
+        assertThat(tested).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void compact_openIteratorStillReadsReplacedRuns() {
+        tested.putAll(List.of(4, 3, 2, 1, 0, 5));
+        Iterator<Integer> iterator = tested.iterator();
+        assertThat(iterator.next()).isEqualTo(0);
+
+        tested.compact();
+
+        assertThat(iterator).toIterable().containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void iterator_closeReleasesReplacedRuns() throws IOException {
+        tested.putAll(List.of(4, 3, 2, 1, 0, 5));
+        try (SpillingSortedList.CloseableIterator<Integer> iterator = tested.iterator()) {
+            assertThat(iterator.next()).isEqualTo(0);
+            tested.compact();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo((long) tested.runCount());
+        }
+    }
+
+    @Test
+    public void put_manyRunsAreCompactedInBackground() throws Exception {
+        List<Integer> expected = new ArrayList<>(IntStream.range(0, 100).boxed().toList());
+        List<Integer> shuffled = new ArrayList<>(expected);
+        Collections.shuffle(shuffled);
+
+        shuffled.forEach(tested::put);
+        tested.awaitCompaction();
+
+        assertThat(tested.runCount()).isLessThan(SpillingSortedList.COMPACTION_THRESHOLD);
+        assertThat(tested).containsExactlyElementsOf(expected);
+        assertThat(tested.size()).isEqualTo(100L);
+    }
+
+    @Test(timeout = 10_000)
+    public void put_failedBackgroundCompactionIsRetriedAfterNextRun() throws Exception {
+        tested.close();
+        tested = new SpillingSortedList<>(INTEGER_COMPARATOR_DEFAULT, failingCodec, MEMORY_BUDGET, directory);
+        int count = SpillingSortedList.COMPACTION_THRESHOLD * MEMORY_BUDGET;
+
+        failingCodec.failing = true;
+        IntStream.range(0, count).forEach(tested::put);
+        tested.awaitCompaction();
+        tested.awaitCompaction();
+
+        assertThat(failingCodec.failedReads.get()).isEqualTo(1);
+        assertThat(tested.runCount()).isEqualTo(SpillingSortedList.COMPACTION_THRESHOLD);
+
+        failingCodec.failing = false;
+        IntStream.range(count, count + MEMORY_BUDGET).forEach(tested::put);
+        tested.awaitCompaction();
+
+        assertThat(tested.runCount()).isLessThan(SpillingSortedList.COMPACTION_THRESHOLD);
+        assertThat(tested).containsExactlyElementsOf(IntStream.range(0, count + MEMORY_BUDGET).boxed().toList());
+    }
+
+    @Test
+    public void close_deletesRuns() throws IOException {
+        tested.putAll(List.of(1, 2, 3, 4));
+        tested.iterator();
+
+        tested.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(0L);
+        }
+        assertThatThrownBy(() -> tested.put(5)).isInstanceOf(IllegalStateException.class);
+    }
+
+
+    /**
+     * Integer codec whose reads can be made to fail.
+     */
+    private static final class FailingCodec implements ElementCodec<Integer> {
+
+        private volatile boolean failing;
+
+        private final AtomicInteger failedReads = new AtomicInteger();
+
+        @Override
+        public void write(DataOutput out, Integer element) throws IOException {
+            INTEGER_CODEC.write(out, element);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            if (failing) {
+                failedReads.incrementAndGet();
+                throw new IllegalStateException("Corrupted element.");
+            }
+            return INTEGER_CODEC.read(in);
+        }
+    }
+}